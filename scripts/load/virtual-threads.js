@@ -0,0 +1,40 @@
+// 플랫폼 스레드 vs 가상 스레드 부하 비교 (k6)
+//
+// 같은 시나리오를 두 번 실행해 처리량과 p99 를 비교한다.
+//   1) VIRTUAL_THREADS_ENABLED=false SEARCH_CACHE_ENABLED=false 로 앱 실행 → k6 run scripts/load/virtual-threads.js
+//   2) VIRTUAL_THREADS_ENABLED=true  SEARCH_CACHE_ENABLED=false 로 앱 실행 → 같은 명령
+// - 검색 결과 캐시가 켜져 있으면 AI 서버 호출 없이 응답하므로 꺼 두고, 검색어도 요청마다 바꾼다
+// - AI 서버(ai.server.url)는 실제 FastAPI 또는 고정 지연 응답 서버를 사용
+// - 환경 변수: BASE_URL (기본 http://localhost:8080), VUS (최대 동시 사용자, 기본 1000)
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = Number(__ENV.VUS || 1000);
+
+export const options = {
+  scenarios: {
+    search: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: VUS },
+        { duration: '2m', target: VUS },
+        { duration: '10s', target: 0 },
+      ],
+      gracefulRampDown: '10s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export default function () {
+  const res = http.post(`${BASE_URL}/api/search`, {
+    query: `소파 ${__VU}-${__ITER}`,
+    autoSave: 'false',
+  });
+  check(res, { 'status 200': (r) => r.status === 200 });
+}
@@ -5,8 +5,10 @@ import com.bangkoo.back.config.properites.SocialOAuthProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableConfigurationProperties(JwtProperties.class)
+@EnableScheduling
 @SpringBootApplication
 public class BackApplication {
 
@@ -1,16 +1,20 @@
 package com.bangkoo.back.config;
 
+import com.bangkoo.back.config.properites.CanvasHistoryProperties;
+import com.bangkoo.back.config.properites.EmbeddingProperties;
+import com.bangkoo.back.config.properites.IngestionProperties;
+import com.bangkoo.back.config.properites.RedisClientProperties;
+import com.bangkoo.back.config.properites.SearchCacheProperties;
+import com.bangkoo.back.config.properites.SearchLogProperties;
+import com.bangkoo.back.config.properites.SearchRankingProperties;
 import com.bangkoo.back.config.properites.SocialOAuthProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
 
 @Configuration
-@EnableConfigurationProperties(SocialOAuthProperties.class)
+@EnableConfigurationProperties({SocialOAuthProperties.class, IngestionProperties.class, EmbeddingProperties.class,
+        SearchRankingProperties.class, SearchCacheProperties.class, SearchLogProperties.class,
+        CanvasHistoryProperties.class, RedisClientProperties.class})
 public class AppConfig {
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
+    // RestTemplate 빈은 HttpClientConfig 에서 커넥션 풀과 함께 등록
 }
@@ -0,0 +1,68 @@
+package com.bangkoo.back.config;
+
+import com.bangkoo.back.config.properites.CanvasHistoryProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 이전 형식 캔버스 히스토리 키 정리 (1회)
+ *
+ * - 예전 RedisService 는 undo:{userId}:{sessionId} / redo:{userId}:{sessionId} 리스트에 만료 없이 저장
+ *   → 지금은 canvas:undo / canvas:redo 키만 사용하므로 이전 키는 아무도 읽지 않고 계속 남음
+ * - 기동 시 SCAN 으로 찾아 만료가 없는 키에 canvas.history.idle-ttl 을 걸어 둠
+ *   (바로 지우지 않아 이전 버전으로 되돌려도 idle-ttl 동안은 히스토리 유지)
+ * - 끝나면 완료 표시 키를 남겨 다음 기동부터는 SCAN 하지 않음, 실패하면 다음 기동 때 다시 시도
+ */
+@Slf4j
+@Component
+public class CanvasHistoryKeyMigration {
+
+    private static final String DONE_KEY = "canvas:migration:legacy-history";
+    private static final List<String> LEGACY_PATTERNS = List.of("undo:*", "redo:*");
+    private static final long SCAN_COUNT = 1000;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final CanvasHistoryProperties properties;
+
+    public CanvasHistoryKeyMigration(RedisTemplate<String, String> redisTemplate, CanvasHistoryProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void expireLegacyKeys() {
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(DONE_KEY))) return;
+
+            long scanned = 0;
+            long expired = 0;
+            for (String pattern : LEGACY_PATTERNS) {
+                ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_COUNT).build();
+                try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                    while (cursor.hasNext()) {
+                        String key = cursor.next();
+                        scanned++;
+                        Long ttl = redisTemplate.getExpire(key);
+                        // -1 = 만료 없음 (이미 만료가 걸린 키는 그대로)
+                        if (ttl != null && ttl == -1 && Boolean.TRUE.equals(redisTemplate.expire(key, properties.getIdleTtl()))) {
+                            expired++;
+                        }
+                    }
+                }
+            }
+
+            redisTemplate.opsForValue().set(DONE_KEY, Instant.now().toString());
+            log.info("이전 형식 캔버스 히스토리 키 정리 - {}개 중 {}개 만료 설정 ({})", scanned, expired, properties.getIdleTtl());
+        } catch (Exception e) {
+            log.warn("이전 형식 캔버스 히스토리 키 정리 실패, 다음 기동 때 다시 시도: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.bangkoo.back.config;
+
+import com.bangkoo.back.config.properites.AiHttpProperties;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * 외부 HTTP 클라이언트 설정
+ *
+ * - Apache HttpClient 5 커넥션 풀 하나를 모든 RestTemplate 이 공유 (keep-alive 로 커넥션 재사용)
+ * - restTemplate: 기본 / 빠른 API 용 (ai.http.fast-read-timeout)
+ * - slowAiRestTemplate: placement, detection 등 이미지 처리 API 용 (ai.http.slow-read-timeout)
+ * - gzip/deflate 응답은 HttpClient 가 자동으로 풀어서 전달 (Accept-Encoding 자동 추가)
+ * - RestTemplateBuilder 로 생성하므로 http.client.requests 지표가 자동 기록됨
+ * - 커넥션 풀 지표: httpcomponents.httpclient.pool.* {httpclient=ai-server}
+ */
+@Configuration
+@EnableConfigurationProperties(AiHttpProperties.class)
+public class HttpClientConfig {
+
+    /**
+     * AI 서버 커넥션 풀
+     * - 가상 스레드를 켜면 동시 요청 상한이 이 풀로 옮겨가므로 virtual-max-* 를 사용
+     *   (기본 50 그대로면 처리량이 플랫폼 스레드와 같고 pool-timeout 실패만 늘어남)
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager aiConnectionManager(AiHttpProperties properties,
+                                                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(virtualThreads ? properties.getVirtualMaxTotal() : properties.getMaxTotal())
+                .setMaxConnPerRoute(virtualThreads ? properties.getVirtualMaxPerRoute() : properties.getMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setTimeToLive(TimeValue.of(properties.getTimeToLive()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient aiHttpClient(PoolingHttpClientConnectionManager aiConnectionManager,
+                                            AiHttpProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(aiConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.getPoolTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleTimeout()))
+                .build();
+    }
+
+    /**
+     * 기본 RestTemplate (임베딩, 검색, 추천 등 빠른 API)
+     */
+    @Bean
+    @Primary
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient aiHttpClient,
+                                     AiHttpProperties properties) {
+        return build(builder, aiHttpClient, properties.getFastReadTimeout());
+    }
+
+    /**
+     * 느린 API 용 RestTemplate (placement, detection, 자동 추천 이미지 분석)
+     */
+    @Bean
+    public RestTemplate slowAiRestTemplate(RestTemplateBuilder builder, CloseableHttpClient aiHttpClient,
+                                           AiHttpProperties properties) {
+        return build(builder, aiHttpClient, properties.getSlowReadTimeout());
+    }
+
+    @Bean
+    public MeterBinder aiConnectionPoolMetrics(PoolingHttpClientConnectionManager aiConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(aiConnectionManager, "ai-server");
+    }
+
+    private RestTemplate build(RestTemplateBuilder builder, CloseableHttpClient httpClient, Duration readTimeout) {
+        return builder
+                .requestFactory(() -> {
+                    HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+                    factory.setReadTimeout(readTimeout);
+                    return factory;
+                })
+                .build();
+    }
+}
@@ -1,9 +1,17 @@
 package com.bangkoo.back.config;
 
+import com.bangkoo.back.model.product.Embedding;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.*;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 최초 작성자 : 김동규
@@ -33,4 +41,47 @@ public class MongoConfig {
     public MongoClient mongoClient() {
         return MongoClients.create(mongoUri);
     }
+
+    /**
+     * 커스텀 타입 변환기 등록
+     * - Embedding ↔ double 배열
+     *
+     * @return MongoCustomConversions 객체
+     */
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                new EmbeddingWritingConverter(),
+                new EmbeddingReadingConverter()
+        ));
+    }
+
+    /**
+     * Embedding → double 배열
+     * - 기존 문서, AI 서버와 같은 형식을 유지하기 위해 숫자 배열로 저장
+     */
+    @WritingConverter
+    static class EmbeddingWritingConverter implements Converter<Embedding, List<Double>> {
+        @Override
+        public List<Double> convert(Embedding source) {
+            float[] values = source.values();
+            List<Double> result = new ArrayList<>(values.length);
+            for (float value : values) {
+                result.add((double) value);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 숫자 배열 → Embedding
+     * - 읽을 때 바로 float[] 로 풀어서 박싱된 리스트를 오래 들고 있지 않게 함
+     */
+    @ReadingConverter
+    static class EmbeddingReadingConverter implements Converter<List<?>, Embedding> {
+        @Override
+        public Embedding convert(List<?> source) {
+            return Embedding.fromNumbers(source);
+        }
+    }
 }
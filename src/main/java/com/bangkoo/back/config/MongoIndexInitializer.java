@@ -0,0 +1,110 @@
+package com.bangkoo.back.config;
+
+import com.bangkoo.back.config.properites.SearchLogProperties;
+import com.bangkoo.back.model.product.Product;
+import com.bangkoo.back.model.search.CandidateFeedback;
+import com.bangkoo.back.model.search.SearchLog;
+import com.bangkoo.back.model.search.SearchLogDaily;
+import com.mongodb.MongoCommandException;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * MongoDB 인덱스 생성
+ *
+ * - 모델에 @CompoundIndex / @TextIndexed 로 선언된 인덱스를 기동 시 생성 (spring.data.mongodb.auto-index-creation 미사용)
+ * - search_logs.timestamp TTL 인덱스는 search.log.retention 값으로 생성 / 변경 (0 이하면 제거)
+ * - 이미 있는 인덱스는 그대로 두므로 재기동해도 비용 없음
+ */
+@Slf4j
+@Component
+public class MongoIndexInitializer {
+
+    static final String TTL_INDEX = "timestamp_ttl";
+    /** 같은 이름 / 키의 인덱스가 다른 옵션으로 이미 있을 때 */
+    private static final int INDEX_OPTIONS_CONFLICT = 85;
+
+    private static final List<Class<?>> INDEXED = List.of(
+            SearchLog.class, CandidateFeedback.class, SearchLogDaily.class, Product.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final SearchLogProperties properties;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate,
+                                 MongoMappingContext mappingContext,
+                                 SearchLogProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> type : INDEXED) {
+            IndexOperations indexOps = mongoTemplate.indexOps(type);
+            resolver.resolveIndexFor(type).forEach(index -> {
+                try {
+                    indexOps.ensureIndex(index);
+                } catch (Exception e) {
+                    log.warn("인덱스 생성 실패 - {} {}: {}", type.getSimpleName(), index.getIndexKeys(), e.getMessage());
+                }
+            });
+        }
+        try {
+            applyRetention();
+        } catch (Exception e) {
+            log.warn("search_logs 보관 기간 적용 실패 - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * search_logs 보관 기간 TTL 인덱스 적용
+     */
+    private void applyRetention() {
+        IndexOperations indexOps = mongoTemplate.indexOps(SearchLog.class);
+        Duration retention = properties.getRetention();
+        boolean exists = indexOps.getIndexInfo().stream().anyMatch(info -> TTL_INDEX.equals(info.getName()));
+
+        if (retention == null || retention.isZero() || retention.isNegative()) {
+            if (exists) {
+                indexOps.dropIndex(TTL_INDEX);
+                log.info("search_logs 보관 기간 제한 해제");
+            }
+            return;
+        }
+
+        try {
+            indexOps.ensureIndex(new Index().on("timestamp", Sort.Direction.ASC).named(TTL_INDEX).expire(retention));
+        } catch (RuntimeException e) {
+            if (!isOptionsConflict(e)) throw e;
+            // 보관 기간만 바뀐 경우 인덱스를 다시 만들지 않고 만료 시간만 변경
+            mongoTemplate.executeCommand(new Document("collMod", mongoTemplate.getCollectionName(SearchLog.class))
+                    .append("index", new Document("name", TTL_INDEX).append("expireAfterSeconds", retention.toSeconds())));
+        }
+        log.info("search_logs 보관 기간 {}일", retention.toDays());
+    }
+
+    private static boolean isOptionsConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoCommandException command && command.getErrorCode() == INDEX_OPTIONS_CONFLICT) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
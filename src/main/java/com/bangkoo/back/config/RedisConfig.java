@@ -1,10 +1,28 @@
 package com.bangkoo.back.config;
 
+import com.bangkoo.back.config.properites.RedisClientProperties;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.commonspool2.CommonsObjectPool2Metrics;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.*;
 import org.springframework.data.redis.connection.lettuce.*;
 import org.springframework.data.redis.core.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
 
 /**
  * ✅ Redis 설정 클래스
@@ -14,20 +32,65 @@ import org.springframework.data.redis.core.*;
  * 📌 RedisConfig
  * - Lettuce 기반 RedisConnectionFactory 및 RedisTemplate을 등록하여
  *   서비스에서 Redis를 사용할 수 있도록 설정한다.
- * - application.yml 혹은 application-*.yml 내 spring.redis.host / port를 사용
+ * - application.yml 혹은 application-*.yml 내 spring.data.redis.* (host / port / timeout / lettuce.pool) 를 사용
+ *
+ * ⚙️ 연결 방식
+ * - 일반 명령은 공유 연결 하나로 다중화, MULTI / 블로킹 명령만 풀(commons-pool2)에서 전용 연결을 빌림
+ * - redis.client.replica-reads=true 이면 읽기 위주 키용 템플릿(replica*)이 복제본에서 읽음
+ *   (꺼져 있으면 replica* 템플릿도 기본 연결 사용)
+ * - 지표: lettuce.command.* (명령별 지연, Boot 가 만든 ClientResources 사용), commons.pool2.* {name=redis} (풀 포화)
  */
 
 @Configuration
 public class RedisConfig {
 
+    private final RedisProperties redisProperties;
+    private final RedisClientProperties clientProperties;
+    private final ClientResources clientResources;
+
+    public RedisConfig(RedisProperties redisProperties,
+                       RedisClientProperties clientProperties,
+                       ClientResources clientResources) {
+        this.redisProperties = redisProperties;
+        this.clientProperties = clientProperties;
+        this.clientResources = clientResources;
+    }
+
     /**
      * 🔧 RedisConnectionFactory 빈 등록
      * - Lettuce를 사용하여 Redis 연결 팩토리를 생성
      * - application.yml 설정 값 자동 반영
      */
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
-        return new LettuceConnectionFactory();
+    @Primary
+    public LettuceConnectionFactory redisConnectionFactory() {
+        RedisStandaloneConfiguration server = new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort());
+        server.setDatabase(redisProperties.getDatabase());
+        server.setUsername(redisProperties.getUsername());
+        if (StringUtils.hasText(redisProperties.getPassword())) {
+            server.setPassword(RedisPassword.of(redisProperties.getPassword()));
+        }
+        return new LettuceConnectionFactory(server, clientConfiguration(null));
+    }
+
+    /**
+     * 🔧 복제본 읽기용 RedisConnectionFactory (redis.client.replica-reads=true 일 때만)
+     * - 기본 서버 + 복제본 목록을 고정 구성으로 등록, 읽기 명령만 readFrom 규칙으로 복제본에 보냄
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "redis.client", name = "replica-reads", havingValue = "true")
+    public LettuceConnectionFactory replicaRedisConnectionFactory() {
+        RedisStaticMasterReplicaConfiguration servers =
+                new RedisStaticMasterReplicaConfiguration(redisProperties.getHost(), redisProperties.getPort());
+        for (String replica : clientProperties.getReplicas()) {
+            addReplicaNode(servers, replica);
+        }
+        servers.setDatabase(redisProperties.getDatabase());
+        servers.setUsername(redisProperties.getUsername());
+        if (StringUtils.hasText(redisProperties.getPassword())) {
+            servers.setPassword(RedisPassword.of(redisProperties.getPassword()));
+        }
+        return new LettuceConnectionFactory(servers, clientConfiguration(readFrom(clientProperties.getReadFrom())));
     }
 
     /**
@@ -40,4 +103,152 @@ public class RedisConfig {
         template.setConnectionFactory(redisConnectionFactory());
         return template;
     }
+
+    /**
+     * 🔧 바이너리 RedisTemplate 빈 등록
+     * - String key, byte[] value (임베딩 벡터, 캔버스 히스토리 프레임 등 직렬화 오버헤드 없이 저장할 때 사용)
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> binaryRedisTemplate() {
+        return binaryTemplate(redisConnectionFactory());
+    }
+
+    /**
+     * 🔧 Smile RedisTemplate 빈 등록
+     * - String key, Smile(바이너리 JSON) value
+     * - 추천 결과처럼 구조가 있는 값을 JSON 문자열보다 작게 저장 (기존 JSON 문자열 값도 읽을 수 있음)
+     */
+    @Bean
+    public RedisTemplate<String, Object> smileRedisTemplate() {
+        return smileTemplate(redisConnectionFactory());
+    }
+
+    /**
+     * 🔧 복제본 읽기용 바이너리 RedisTemplate (캔버스 현재 상태 조회)
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> replicaBinaryRedisTemplate(
+            @Qualifier("replicaRedisConnectionFactory") ObjectProvider<LettuceConnectionFactory> replica) {
+        return binaryTemplate(replica.getIfAvailable(this::redisConnectionFactory));
+    }
+
+    /**
+     * 🔧 복제본 읽기용 Smile RedisTemplate (추천 결과 조회)
+     */
+    @Bean
+    public RedisTemplate<String, Object> replicaSmileRedisTemplate(
+            @Qualifier("replicaRedisConnectionFactory") ObjectProvider<LettuceConnectionFactory> replica) {
+        return smileTemplate(replica.getIfAvailable(this::redisConnectionFactory));
+    }
+
+    /**
+     * 📊 Redis 연결 풀 지표 (commons.pool2.* - 대기 수 num.waiters, 유휴 num.idle, 대여 대기 시간 등)
+     * - 풀은 JMX 이름 "redis" 로 등록되어 다른 commons-pool2 풀과 구분 (MeterBinder 빈은 Boot 가 레지스트리에 연결)
+     */
+    @Bean
+    public CommonsObjectPool2Metrics redisPoolMetrics() {
+        return new CommonsObjectPool2Metrics(Tags.of("client", "lettuce"));
+    }
+
+    private LettuceClientConfiguration clientConfiguration(ReadFrom readFrom) {
+        Duration commandTimeout = redisProperties.getTimeout() != null ? redisProperties.getTimeout() : Duration.ofSeconds(2);
+        SocketOptions.Builder socket = SocketOptions.builder().keepAlive(true);
+        if (redisProperties.getConnectTimeout() != null) {
+            socket.connectTimeout(redisProperties.getConnectTimeout());
+        }
+        ClientOptions clientOptions = ClientOptions.builder()
+                .socketOptions(socket.build())
+                .timeoutOptions(TimeoutOptions.enabled(commandTimeout))
+                // 연결이 끊긴 동안 명령을 쌓아두지 않고 바로 실패 (요청 스레드가 타임아웃까지 묶이지 않도록)
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build();
+
+        RedisProperties.Pool pool = redisProperties.getLettuce().getPool();
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = Boolean.FALSE.equals(pool.getEnabled())
+                ? LettuceClientConfiguration.builder()
+                : LettucePoolingClientConfiguration.builder().poolConfig(poolConfig(pool));
+        builder.clientResources(clientResources)
+                .clientOptions(clientOptions)
+                .commandTimeout(commandTimeout)
+                .shutdownTimeout(redisProperties.getLettuce().getShutdownTimeout());
+        if (redisProperties.getSsl().isEnabled()) {
+            builder.useSsl();
+        }
+        if (readFrom != null) {
+            builder.readFrom(readFrom);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 🔧 redis.client.replicas 항목(host:port) 하나를 복제본 노드로 추가
+     * - 형식이 틀리면 substring / parseInt 예외 대신 어떤 항목이 잘못됐는지 알려주고 기동 중단
+     */
+    static void addReplicaNode(RedisStaticMasterReplicaConfiguration servers, String replica) {
+        String entry = replica == null ? "" : replica.trim();
+        int colon = entry.lastIndexOf(':');
+        if (colon <= 0 || colon == entry.length() - 1) {
+            throw new IllegalStateException("redis.client.replicas 항목은 host:port 형식이어야 합니다: '" + replica + "'");
+        }
+        int port;
+        try {
+            port = Integer.parseInt(entry.substring(colon + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("redis.client.replicas 항목의 포트가 숫자가 아닙니다: '" + replica + "'", e);
+        }
+        if (port < 1 || port > 65535) {
+            throw new IllegalStateException("redis.client.replicas 항목의 포트 범위가 잘못됐습니다: '" + replica + "'");
+        }
+        servers.addNode(entry.substring(0, colon), port);
+    }
+
+    /**
+     * 🔧 redis.client.read-from 값을 Lettuce ReadFrom 으로 변환
+     * - Lettuce 는 replicaPreferred 같은 이름만 받으므로 REPLICA_PREFERRED 같은 enum 표기는 '_' 를 빼고 넘김 (대소문자 무시)
+     * - subnet: / regex: 규칙은 그대로 전달
+     */
+    static ReadFrom readFrom(String name) {
+        String value = name == null ? "" : name.trim();
+        if (value.indexOf(':') < 0) {
+            value = value.replace("_", "");
+        }
+        try {
+            return ReadFrom.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("지원하지 않는 redis.client.read-from 값입니다: '" + name
+                    + "' (replicaPreferred, replica, lowestLatency, any, anyReplica, upstream, upstreamPreferred, subnet:..., regex:...)", e);
+        }
+    }
+
+    private static GenericObjectPoolConfig<?> poolConfig(RedisProperties.Pool pool) {
+        GenericObjectPoolConfig<?> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(pool.getMaxActive());
+        config.setMaxIdle(pool.getMaxIdle());
+        config.setMinIdle(pool.getMinIdle());
+        if (pool.getMaxWait() != null) {
+            config.setMaxWait(pool.getMaxWait());
+        }
+        if (pool.getTimeBetweenEvictionRuns() != null) {
+            config.setTimeBetweenEvictionRuns(pool.getTimeBetweenEvictionRuns());
+        }
+        config.setJmxEnabled(true);
+        config.setJmxNamePrefix("redis");
+        return config;
+    }
+
+    private static RedisTemplate<String, byte[]> binaryTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        return template;
+    }
+
+    private static RedisTemplate<String, Object> smileTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(new SmileRedisSerializer<>(Object.class));
+        return template;
+    }
 }
@@ -21,6 +21,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * 최초 작성자 : 김동규
@@ -105,7 +106,8 @@ public class SecurityConfig {
 //        configuration.setAllowedOrigins(Arrays.asList("https://bangkoo.store", "https://www.bangkoo.store", "https://api.bangkoo.store"));
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "If-None-Match"));
+        configuration.setExposedHeaders(List.of("ETag")); // 캔버스 상태 조회 시 프론트가 ETag 를 읽어 If-None-Match 로 재전송
         configuration.setAllowCredentials(true); // HttpOnly 쿠키 사용 시 필요
         configuration.setMaxAge(3600L);
 
@@ -0,0 +1,53 @@
+package com.bangkoo.back.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * Redis 값 Smile(바이너리 JSON) 직렬화
+ *
+ * - JSON 과 같은 데이터 모델이지만 필드 이름을 한 번만 쓰고 숫자를 바이너리로 저장해 더 작고 빠름
+ * - 읽을 때 Smile 헤더(":)\n")가 없으면 이전에 문자열로 저장된 JSON 으로 보고 JSON 으로 읽음
+ *
+ * @param <T> 값 타입
+ */
+public class SmileRedisSerializer<T> implements RedisSerializer<T> {
+
+    private static final SmileMapper SMILE = new SmileMapper();
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final JavaType type;
+
+    public SmileRedisSerializer(Class<T> type) {
+        this.type = SMILE.constructType(type);
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) return null;
+        try {
+            return SMILE.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Smile 직렬화 실패: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) return null;
+        try {
+            return isSmile(bytes) ? SMILE.readValue(bytes, type) : JSON.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new SerializationException("Smile 역직렬화 실패: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isSmile(byte[] bytes) {
+        return bytes.length >= 3 && bytes[0] == ':' && bytes[1] == ')' && bytes[2] == '\n';
+    }
+}
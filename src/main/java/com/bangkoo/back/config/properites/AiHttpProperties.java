@@ -0,0 +1,28 @@
+package com.bangkoo.back.config.properites;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ai.http")
+public class AiHttpProperties {
+
+    /**
+     * AI 서버(FastAPI) 등 외부 HTTP 호출용 커넥션 풀 / 타임아웃 설정
+     */
+
+    private int maxTotal = 100;                                 // 전체 최대 커넥션 수
+    private int maxPerRoute = 50;                               // 호스트(route)별 최대 커넥션 수
+    private int virtualMaxTotal = 800;                          // 가상 스레드 사용 시 전체 최대 커넥션 수
+    private int virtualMaxPerRoute = 400;                       // 가상 스레드 사용 시 route 별 최대 (Tomcat 200 스레드보다 커야 이득이 있음)
+    private Duration connectTimeout = Duration.ofSeconds(2);    // TCP 연결 타임아웃
+    private Duration poolTimeout = Duration.ofSeconds(2);       // 풀에서 커넥션을 기다리는 최대 시간
+    private Duration idleTimeout = Duration.ofSeconds(30);      // 유휴 커넥션 정리 기준
+    private Duration timeToLive = Duration.ofMinutes(5);        // 커넥션 최대 수명 (서버 재배포 후 DNS/LB 변경 반영)
+    private Duration fastReadTimeout = Duration.ofSeconds(30);  // 임베딩/검색/추천 등 빠른 API 응답 타임아웃
+    private Duration slowReadTimeout = Duration.ofSeconds(120); // 배치(placement)/감지(detection) 등 느린 API 응답 타임아웃
+}
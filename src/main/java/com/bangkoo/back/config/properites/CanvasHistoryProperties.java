@@ -0,0 +1,26 @@
+package com.bangkoo.back.config.properites;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.zip.Deflater;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "canvas.history")
+public class CanvasHistoryProperties {
+
+    /**
+     * 인테리어 캔버스 undo/redo 히스토리 설정
+     */
+
+    private int maxDepth = 30;                          // 세션당 undo 최대 단계 (키프레임 경계에서 잘라 최대 keyframeInterval 만큼 적을 수 있음)
+    private Duration idleTtl = Duration.ofHours(24);    // 마지막 변경 후 히스토리 보관 시간
+    private boolean deltaEnabled = true;                // 직전 상태 대비 변경 구간만 저장 (효과 없으면 자동으로 전체 저장)
+    private int keyframeInterval = 10;                  // 연속 델타 최대 개수 (복원 시 읽는 프레임 수 상한)
+    private int compressionLevel = Deflater.BEST_SPEED; // 0(압축 안 함) ~ 9
+    private long localMaxBytes = 64L * 1024 * 1024;     // 델타 기준용 세션별 현재 상태 JVM 내 캐시 최대 크기
+    private int maxStateBytes = 20 * 1024 * 1024;       // 바이너리 업로드 상태 하나의 최대 크기
+}
@@ -0,0 +1,39 @@
+package com.bangkoo.back.config.properites;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ai.embedding")
+public class EmbeddingProperties {
+
+    /**
+     * 임베딩 모델 / 캐시 설정
+     */
+
+    private String modelVersion = "v1";     // 임베딩 모델 버전 (캐시 키에 포함 → 모델 교체 시 올리면 기존 캐시 무효)
+    private Cache cache = new Cache();
+    private TextBatch textBatch = new TextBatch();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        private long localMaxEntries = 10_000;          // JVM 내 캐시 최대 개수 (768차원 기준 약 30MB)
+        private boolean redisEnabled = true;            // Redis 2차 캐시 사용 여부
+        private Duration redisTtl = Duration.ofDays(30);
+    }
+
+    @Getter
+    @Setter
+    public static class TextBatch {
+        private boolean listEndpoint = true;            // FastAPI /text-embedding/list 사용 여부 (false 면 /text-embedding 을 텍스트마다 호출)
+        private int maxSize = 64;                       // 한 번에 요청할 최대 텍스트 수
+        private Duration linger = Duration.ofMillis(10); // 첫 요청 후 다른 요청을 기다리는 최대 시간
+        private int maxInFlight = 4;                    // 동시에 보낼 수 있는 배치 요청 수
+    }
+}
@@ -0,0 +1,23 @@
+package com.bangkoo.back.config.properites;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ingestion")
+public class IngestionProperties {
+
+    /**
+     * 제품 대량 등록 파이프라인 설정
+     */
+
+    private int batchSize = 100;            // 임베딩 요청 + Mongo bulk insert 단위
+    private int concurrency = 4;            // 동시에 처리하는 배치 수 (AI 서버 동시 요청 수)
+    private int maxPendingBatches = 8;      // 처리 대기 배치 상한 (초과 시 파싱 단계가 대기)
+    private int maxReportedErrors = 100;    // 응답에 담을 행별 오류 메시지 최대 개수
+    private int jobConcurrency = 1;         // 동시에 실행하는 가져오기 작업 수 (배치 스레드는 작업 간 공유)
+    private boolean resumeOnStartup = true; // 서버 시작 시 QUEUED/RUNNING 작업 이어서 처리
+    private String stagingDir = System.getProperty("java.io.tmpdir") + "/bangkoo-import"; // 스트리밍 업로드 임시 저장 경로
+}
@@ -0,0 +1,23 @@
+package com.bangkoo.back.config.properites;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "redis.client")
+public class RedisClientProperties {
+
+    /**
+     * Redis 클라이언트 추가 설정 (접속 정보·타임아웃·풀은 spring.data.redis.* 사용)
+     */
+
+    private boolean replicaReads = false;           // 읽기 위주 키(추천 결과, 캔버스 현재 상태)를 복제본에서 읽기
+    private List<String> replicas = new ArrayList<>(); // 복제본 주소 목록 (host:port)
+    private String readFrom = "replicaPreferred";   // Lettuce ReadFrom 이름 (replicaPreferred, replica, lowestLatency, any, anyReplica, subnet:..., regex:...)
+    private int pipelineBatchSize = 500;            // 파이프라인 한 번에 보낼 최대 명령 묶음 수
+}
@@ -0,0 +1,32 @@
+package com.bangkoo.back.config.properites;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "search.cache")
+public class SearchCacheProperties {
+
+    /**
+     * AI 검색 결과 캐시 설정
+     */
+
+    /**
+     * 캐시 공유 범위
+     * NONE  - 모든 사용자가 같은 결과 공유 (AI 서버에 user_id 를 보내지 않음)
+     * LOGIN - 비로그인 / 로그인 사용자 두 그룹으로 나눔 (AI 서버에 user_id 를 보내지 않음)
+     * USER  - 사용자별로 따로 캐시 (AI 서버가 user_id 로 개인화하는 경우, 기본값)
+     */
+    public enum Segment { NONE, LOGIN, USER }
+
+    private boolean enabled = true;
+    private Segment segment = Segment.USER;
+    private Duration ttl = Duration.ofMinutes(10);          // Redis 보관 시간
+    private Duration localTtl = Duration.ofSeconds(30);     // JVM 내 캐시 보관 시간 (다른 서버의 무효화 반영 지연 상한)
+    private long localMaxBytes = 64L * 1024 * 1024;         // JVM 내 캐시 최대 크기 (응답 바이트 합)
+    private boolean redisEnabled = true;                    // Redis 공유 캐시 사용 여부
+}
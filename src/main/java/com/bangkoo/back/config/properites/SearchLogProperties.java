@@ -0,0 +1,30 @@
+package com.bangkoo.back.config.properites;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "search.log")
+public class SearchLogProperties {
+
+    /**
+     * 검색 로그 비동기 저장 설정
+     */
+
+    public enum Overflow { DROP, BLOCK }
+
+    private int queueCapacity = 10_000;                 // 저장 대기 로그 최대 개수
+    private int batchSize = 500;                        // insertAll 1회당 최대 로그 수
+    private Duration linger = Duration.ofMillis(200);   // 첫 로그 후 배치를 채우려고 기다리는 최대 시간
+    private Overflow overflow = Overflow.DROP;          // 큐가 가득 찼을 때: DROP(버림) / BLOCK(blockTimeout 까지 대기 후 버림)
+    private Duration blockTimeout = Duration.ofMillis(50);
+    private int writeRetries = 2;                       // 저장 실패 시 배치를 다시 시도하는 횟수 (모두 실패하면 버리고 dropped 로 집계)
+    private Duration retryBackoff = Duration.ofMillis(200); // 재시도 간격 (시도마다 배수로 증가)
+    private Duration shutdownTimeout = Duration.ofSeconds(10); // 종료 시 남은 로그 저장 대기 시간
+    private Duration retention = Duration.ofDays(90);   // search_logs 보관 기간 (TTL 인덱스, 0 이면 무기한)
+    private boolean rollupEnabled = true;               // 지난 날짜 로그를 search_log_daily 로 일별 집계
+}
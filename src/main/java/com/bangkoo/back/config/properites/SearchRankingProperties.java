@@ -0,0 +1,25 @@
+package com.bangkoo.back.config.properites;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "search.ranking")
+public class SearchRankingProperties {
+
+    /**
+     * 검색 후보 CTR 재정렬 설정
+     */
+
+    private boolean enabled = true;                   // false 면 모든 요청을 AI 서버 순서 그대로 반환
+    private int treatmentPercent = 50;                // 재정렬을 적용할 로그인 사용자 비율(%) - 사용자 ID 해시로 고정 배정
+    private double priorImpressions = 20;             // CTR 평활화 가중치 (상위 평균 CTR 을 이 노출 수만큼 섞음)
+    private double weight = 0.5;                      // CTR 반영 강도 (0 = 원래 순서, 클수록 CTR 영향 큼)
+    private double maxLift = 3.0;                     // 전체 평균 대비 CTR 배율 상한 (소수 후보의 과도한 부스트 방지)
+    private Duration userWindow = Duration.ofDays(30);  // 사용자별 CTR 에 반영할 최근 활동 기간
+    // 메모리 표 갱신 주기는 search.ranking.refresh-interval-ms (@Scheduled)
+}
@@ -18,7 +18,7 @@ public class Product3dController {
 
     @GetMapping("/3d-url/{id}")
     public ResponseEntity<String> get3DModelUrl(@PathVariable String id) {
-        return product3dRepository.findById(id)
+        return product3dRepository.findModel3dUrlById(id)
                 .map(product -> ResponseEntity.ok(product.getModel3dUrl()))
                 .orElse(ResponseEntity.notFound().build());
     }
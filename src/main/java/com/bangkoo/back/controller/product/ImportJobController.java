@@ -0,0 +1,119 @@
+package com.bangkoo.back.controller.product;
+
+import com.bangkoo.back.dto.product.ImportJobResponseDTO;
+import com.bangkoo.back.model.product.ImportFormat;
+import com.bangkoo.back.model.product.ImportJob;
+import com.bangkoo.back.service.product.ImportJobService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.NoSuchElementException;
+
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * 제품 대량 등록(가져오기 작업) API
+ * - 요청 본문을 임시 파일로 저장한 뒤 202 + 작업 ID 를 바로 반환하고, 처리는 작업 전용 스레드에서 진행
+ * - 진행 상황은 GET /api/admin/import-jobs/{id} 로 조회
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class ImportJobController {
+
+    private final ImportJobService importJobService;
+
+    public ImportJobController(ImportJobService importJobService) {
+        this.importJobService = importJobService;
+    }
+
+    /**
+     * CSV 업로드 API (프론트에서 파싱한 JSON 배열)
+     * POST /api/admin/CSVupload
+     */
+    @PostMapping(value = "/CSVupload", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportJobResponseDTO> uploadCSV(@RequestParam(name = "fileName", required = false) String fileName,
+                                                          InputStream body) {
+        return accept(body, fileName, ImportFormat.JSON);
+    }
+
+    /**
+     * 다수의 제품을 등록시 저장API
+     * POST /api/admin/product/saveAll
+     */
+    @PostMapping(value = "/product/saveAll", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportJobResponseDTO> saveAll(InputStream body) {
+        return accept(body, null, ImportFormat.JSON);
+    }
+
+    /**
+     * CSV 스트리밍 업로드 API
+     * POST /api/admin/CSVupload/stream?fileName=xxx.csv
+     * Content-Type: text/csv (본문 = CSV 원문, 첫 줄 헤더)
+     */
+    @PostMapping(value = "/CSVupload/stream",
+            consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportJobResponseDTO> uploadCSVStream(@RequestParam(name = "fileName", required = false) String fileName,
+                                                                InputStream body) {
+        return accept(body, fileName, ImportFormat.CSV);
+    }
+
+    /**
+     * 가져오기 작업 상태 조회 API
+     * GET /api/admin/import-jobs/{id}
+     */
+    @GetMapping("/import-jobs/{id}")
+    public ImportJobResponseDTO getJob(@PathVariable("id") String id) {
+        try {
+            return ImportJobResponseDTO.from(importJobService.getJob(id));
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * 가져오기 작업 취소 API
+     * POST /api/admin/import-jobs/{id}/cancel
+     */
+    @PostMapping("/import-jobs/{id}/cancel")
+    public ImportJobResponseDTO cancelJob(@PathVariable("id") String id) {
+        try {
+            return ImportJobResponseDTO.from(importJobService.cancel(id));
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * 실패한 가져오기 작업 재개 API
+     * POST /api/admin/import-jobs/{id}/resume
+     */
+    @PostMapping("/import-jobs/{id}/resume")
+    public ResponseEntity<ImportJobResponseDTO> resumeJob(@PathVariable("id") String id) {
+        try {
+            return accepted(importJobService.submit(id));
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(NOT_FOUND, e.getMessage());
+        }
+    }
+
+    private ResponseEntity<ImportJobResponseDTO> accept(InputStream body, String fileName, ImportFormat format) {
+        try {
+            ImportJob job = importJobService.createJob(body, fileName, format);
+            return accepted(importJobService.submit(job.getId()));
+        } catch (IOException e) {
+            throw new ResponseStatusException(INTERNAL_SERVER_ERROR, "업로드 저장 실패: " + e.getMessage());
+        }
+    }
+
+    private ResponseEntity<ImportJobResponseDTO> accepted(ImportJob job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/admin/import-jobs/" + job.getId()))
+                .body(ImportJobResponseDTO.from(job));
+    }
+}
@@ -1,11 +1,23 @@
 package com.bangkoo.back.controller.redis;
 
+import com.bangkoo.back.config.properites.CanvasHistoryProperties;
+import com.bangkoo.back.service.redis.CanvasSnapshot;
+import com.bangkoo.back.service.redis.CanvasState;
 import com.bangkoo.back.service.redis.RedisService;
 import com.bangkoo.back.utils.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * ✅ RedisController (세션 기반 버전)
@@ -14,6 +26,11 @@ import org.springframework.web.bind.annotation.*;
  *
  * 🧠 Redis를 활용한 세션 단위 인테리어 상태 관리 컨트롤러
  * - JWT로 사용자 인증 → 세션 단위로 undo/redo 히스토리 분리 저장
+ *
+ * 📦 바이너리 API (/state/binary, /undo/binary, /redo/binary)
+ * - 본문 / 응답이 base64 문자열이 아닌 원본 바이트 (요청마다 수 MB 문자열 사본을 만들지 않음)
+ * - 응답 ETag = 상태 토큰, GET 에 If-None-Match 로 보내면 바뀌지 않았을 때 304 (본문 없음)
+ * - 텍스트 API 와 같은 히스토리를 공유 (바이너리로 저장한 상태도 /state 로 data URL 조회 가능)
  */
 
 @RequiredArgsConstructor
@@ -23,6 +40,7 @@ public class RedisController {
 
     private final RedisService redisService;
     private final JwtUtil jwtUtil;
+    private final CanvasHistoryProperties canvasHistoryProperties;
 
     /**
      * 📌 상태 저장 (push)
@@ -90,4 +108,140 @@ public class RedisController {
         redisService.clearSession(userId, sessionId);
         return ResponseEntity.ok("🧹 세션 히스토리 삭제 완료");
     }
+
+    /**
+     * 📌 상태 저장 (바이너리)
+     * - 본문 = 원본 상태 바이트, Content-Type 은 함께 저장되어 조회 시 그대로 돌려줌
+     * - 응답 ETag = 저장된 상태 토큰
+     */
+    @PostMapping("/state/binary")
+    public ResponseEntity<Void> pushBinaryState(
+            @RequestParam("sessionId") String sessionId,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body,
+            HttpServletRequest request
+    ) {
+        String userId = jwtUtil.getUserIdFromToken(jwtUtil.extractToken(request));
+        byte[] data = readBody(body, request.getContentLengthLong());
+        String token = redisService.pushState(userId, sessionId, CanvasState.fromBinary(data, mediaType(contentType)));
+        return ResponseEntity.noContent().eTag(token).build();
+    }
+
+    /**
+     * 📂 현재 상태 조회 (바이너리)
+     * - If-None-Match 가 현재 토큰과 같으면 304
+     */
+    @GetMapping("/state/binary")
+    public ResponseEntity<byte[]> getBinaryState(
+            @RequestParam("sessionId") String sessionId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletRequest request
+    ) {
+        String userId = jwtUtil.getUserIdFromToken(jwtUtil.extractToken(request));
+        return binary(redisService.currentSnapshot(userId, sessionId, etagValue(ifNoneMatch)));
+    }
+
+    /**
+     * 🔙 undo 요청 (바이너리)
+     */
+    @PostMapping("/undo/binary")
+    public ResponseEntity<byte[]> undoBinary(
+            @RequestParam("sessionId") String sessionId,
+            HttpServletRequest request
+    ) {
+        String userId = jwtUtil.getUserIdFromToken(jwtUtil.extractToken(request));
+        return binary(redisService.undoSnapshot(userId, sessionId));
+    }
+
+    /**
+     * 🔁 redo 요청 (바이너리)
+     */
+    @PostMapping("/redo/binary")
+    public ResponseEntity<byte[]> redoBinary(
+            @RequestParam("sessionId") String sessionId,
+            HttpServletRequest request
+    ) {
+        String userId = jwtUtil.getUserIdFromToken(jwtUtil.extractToken(request));
+        return binary(redisService.redoSnapshot(userId, sessionId));
+    }
+
+    private ResponseEntity<byte[]> binary(CanvasSnapshot snapshot) {
+        if (snapshot == null) return ResponseEntity.noContent().build();
+        if (snapshot.isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.token()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.token())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(responseType(snapshot.state()))
+                .body(snapshot.state().data());
+    }
+
+    /**
+     * 저장된 형식 → 응답 Content-Type (텍스트 API 로 저장된 data URL 머리말이 잘못된 경우 octet-stream)
+     */
+    private static MediaType responseType(CanvasState state) {
+        try {
+            return MediaType.parseMediaType(state.mediaType());
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
+    /**
+     * 요청 본문을 한 번에 읽음 (Content-Length 를 알면 정확한 크기 배열 하나에 바로 읽음)
+     */
+    private byte[] readBody(InputStream body, long contentLength) {
+        int max = canvasHistoryProperties.getMaxStateBytes();
+        if (contentLength > max) {
+            throw new ResponseStatusException(HttpStatus.CONTENT_TOO_LARGE, "상태 크기가 " + max + " 바이트를 넘습니다.");
+        }
+        try {
+            byte[] data;
+            if (contentLength >= 0) {
+                data = new byte[(int) contentLength];
+                int read = body.readNBytes(data, 0, data.length);
+                if (read < data.length) {
+                    // 끊긴 업로드를 잘린 이미지로 저장하지 않도록
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Content-Length 보다 적게 받았습니다. (" + read + " / " + data.length + " 바이트)");
+                }
+            } else {
+                data = body.readNBytes(max + 1);
+                if (data.length > max) {
+                    throw new ResponseStatusException(HttpStatus.CONTENT_TOO_LARGE, "상태 크기가 " + max + " 바이트를 넘습니다.");
+                }
+            }
+            if (data.length == 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "저장할 상태가 비어 있습니다.");
+            }
+            return data;
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "상태 업로드 읽기 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Content-Type → 저장할 형식 (파라미터 제외, 알 수 없으면 null)
+     */
+    private static String mediaType(String contentType) {
+        if (contentType == null || contentType.isBlank()) return null;
+        try {
+            MediaType parsed = MediaType.parseMediaType(contentType);
+            return parsed.getType() + "/" + parsed.getSubtype();
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * If-None-Match 헤더 → 토큰 (첫 번째 값, W/ 와 따옴표 제거)
+     */
+    private static String etagValue(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return null;
+        String value = ifNoneMatch.split(",")[0].trim();
+        if (value.startsWith("W/")) value = value.substring(2);
+        value = value.replace("\"", "");
+        return value.isEmpty() || "*".equals(value) ? null : value;
+    }
 }
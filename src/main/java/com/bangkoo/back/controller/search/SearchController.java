@@ -1,17 +1,26 @@
 package com.bangkoo.back.controller.search;
 
+import com.bangkoo.back.dto.search.ClickEventDTO;
+import com.bangkoo.back.dto.search.SimilarProductDTO;
+import com.bangkoo.back.dto.search.SuggestionDTO;
+import com.bangkoo.back.service.search.ClickTrackingService;
 import com.bangkoo.back.service.search.SearchService;
+import com.bangkoo.back.service.search.SuggestionService;
+import com.bangkoo.back.service.search.VectorSearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 import com.bangkoo.back.service.search.SearchLogService;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
 /**
  * 최초 작성자: 김동규
  * 최초 작성일: 2025-04-03
@@ -25,6 +34,12 @@ public class SearchController {
 
     private final SearchService searchService;
     private final SearchLogService searchLogService;
+    private final VectorSearchService vectorSearchService;
+    private final ClickTrackingService clickTrackingService;
+    private final SuggestionService suggestionService;
+
+    /** 클릭 일괄 전송 1회당 최대 이벤트 수 */
+    private static final int MAX_CLICK_BATCH = 500;
 
     /**
      * 이미지 또는 텍스트 기반 AI 추천/검색 통합 요청
@@ -36,15 +51,14 @@ public class SearchController {
      * @return 추천 또는 검색 결과
      */
     @PostMapping(value = "/search", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<String> handleRecommendOrSearch(
+    public ResponseEntity<byte[]> handleRecommendOrSearch(
             @RequestParam(required = false) MultipartFile image,
             @RequestParam(required = false) String query,
             @RequestParam(required = false) String image_url,
             @RequestParam(name = "userId", required = false) String userId,
             @RequestParam(name = "autoSave", required = false, defaultValue = "true") boolean autoSave
     ) throws IOException {
-        System.out.println("[DEBUG] autoSave = " + autoSave);
-        String result = searchService.recommendOrSearch(
+        byte[] result = searchService.recommendOrSearch(
                 image,
                 query,
                 image_url,
@@ -53,6 +67,78 @@ public class SearchController {
         );
 
 //        String result = searchService.recommendOrSearch(image, query, image_url, userId);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(result);
+    }
+
+    /**
+     * 검색어 자동완성 (제품명 + 인기 검색어)
+     *
+     * @param q     입력 중인 검색어
+     * @param limit 최대 개수 (기본 10, 최대 20)
+     * @return 추천 문구 리스트
+     */
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam(name = "q", defaultValue = "") String q,
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(suggestionService.suggest(q, limit));
+    }
+
+    /**
+     * 특정 제품과 유사한 제품 조회 (JVM 내 벡터 검색)
+     *
+     * @param productId 기준 제품 ID
+     * @param k         반환 개수 (기본 10)
+     * @return 유사도 순 제품 리스트
+     */
+    @GetMapping("/search/similar/{productId}")
+    public ResponseEntity<List<SimilarProductDTO>> findSimilarProducts(
+            @PathVariable("productId") String productId,
+            @RequestParam(name = "k", defaultValue = "10") int k
+    ) {
+        return ResponseEntity.ok(vectorSearchService.findSimilarProducts(productId, k));
+    }
+
+    /**
+     * 임베딩 벡터로 유사 제품 조회 (JVM 내 벡터 검색)
+     *
+     * @param embedding 질의 임베딩 (combinedEmbedding 과 같은 차원)
+     * @param k         반환 개수 (기본 10)
+     * @return 유사도 순 제품 리스트
+     */
+    @PostMapping("/search/vector")
+    public ResponseEntity<List<SimilarProductDTO>> searchByVector(
+            @RequestBody float[] embedding,
+            @RequestParam(name = "k", defaultValue = "10") int k
+    ) {
+        return ResponseEntity.ok(
+                vectorSearchService.toProducts(vectorSearchService.search(embedding, k)));
+    }
+
+    /**
+     * 검색 후보 클릭 기록
+     *
+     * @param event 클릭 이벤트
+     * @return accepted: 집계된 수, duplicates: 중복으로 무시된 수
+     */
+    @PostMapping("/search/feedback/click")
+    public ResponseEntity<Map<String, Integer>> recordClick(@RequestBody ClickEventDTO event) {
+        return recordClicks(List.of(event));
+    }
+
+    /**
+     * 검색 후보 클릭 일괄 기록 (프론트에서 모아서 전송)
+     *
+     * @param events 클릭 이벤트 목록 (최대 500건)
+     * @return accepted: 집계된 수, duplicates: 중복으로 무시된 수
+     */
+    @PostMapping("/search/feedback/clicks")
+    public ResponseEntity<Map<String, Integer>> recordClicks(@RequestBody List<ClickEventDTO> events) {
+        if (events.size() > MAX_CLICK_BATCH) {
+            throw new ResponseStatusException(BAD_REQUEST, "한 번에 최대 " + MAX_CLICK_BATCH + "건까지 전송할 수 있습니다.");
+        }
+        int accepted = clickTrackingService.recordClicks(events);
+        return ResponseEntity.ok(Map.of("accepted", accepted, "duplicates", events.size() - accepted));
     }
 }
@@ -1,12 +1,16 @@
 package com.bangkoo.back.controller.search;
 
 import com.bangkoo.back.dto.search.PopularSearchDTO;
+import com.bangkoo.back.service.search.PopularSearchService;
 import com.bangkoo.back.service.search.SearchLogService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
 /**
  * 최초 작성자: 김동규
  * 최초 작성일: 2025-04-15
@@ -15,7 +19,7 @@ import java.util.List;
  *
  * - 검색어 저장 (로그인 사용자만 저장)
  * - 사용자별 최근 검색어 조회
- * - 전체 사용자 기준 인기 검색어 조회
+ * - 전체 사용자 기준 인기 검색어 조회 (기간별) / 순위표 재생성
  * - 사용자별 검색어 전체 삭제
  * - 사용자별 특정 검색어 삭제
  *
@@ -27,6 +31,7 @@ import java.util.List;
 public class SearchLogController {
 
     private final SearchLogService searchLogService;
+    private final PopularSearchService popularSearchService;
 
     /**
      * 검색어 저장 API (로그인 사용자 전용)
@@ -58,12 +63,28 @@ public class SearchLogController {
     /**
      * 전체 사용자 기준 인기 검색어 조회 API
      *
-     * @param limit 최대 개수 (기본값 10)
+     * @param limit  최대 개수 (기본값 10)
+     * @param window 조회 기간 hour / day / week / all (기본값 all)
      * @return 인기 검색어 + 검색 횟수 리스트
      */
     @GetMapping("/popular")
-    public List<PopularSearchDTO> getPopular(@RequestParam(defaultValue = "10") int limit) {
-        return searchLogService.getPopularSearches(limit);
+    public List<PopularSearchDTO> getPopular(@RequestParam(defaultValue = "10") int limit,
+                                             @RequestParam(defaultValue = "all") String window) {
+        try {
+            return searchLogService.getPopularSearches(PopularSearchService.Window.from(window), limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(BAD_REQUEST, "지원하지 않는 기간입니다: " + window);
+        }
+    }
+
+    /**
+     * 인기 검색어 순위표를 search_logs 전체에서 다시 만드는 API
+     *
+     * @return 집계된 검색어 수
+     */
+    @PostMapping("/popular/backfill")
+    public int backfillPopular() {
+        return popularSearchService.backfill();
     }
 
     /**
@@ -0,0 +1,49 @@
+package com.bangkoo.back.dto.product;
+
+import com.bangkoo.back.model.product.ImportJob;
+import com.bangkoo.back.model.product.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 제품 가져오기 작업 상태 응답
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponseDTO {
+
+    private String jobId;
+    private String fileName;
+    private ImportJobStatus status;
+    private long processedRows;     // 처리 완료된 행 수
+    private int successCount;
+    private int failureCount;
+    private List<String> errors;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    public static ImportJobResponseDTO from(ImportJob job) {
+        return ImportJobResponseDTO.builder()
+                .jobId(job.getId())
+                .fileName(job.getFileName())
+                .status(job.getStatus())
+                .processedRows(job.getCommittedRow())
+                .successCount(job.getSuccessCount())
+                .failureCount(job.getFailureCount())
+                .errors(job.getErrors())
+                .message(job.getMessage())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
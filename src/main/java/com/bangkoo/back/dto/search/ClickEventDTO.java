@@ -0,0 +1,17 @@
+package com.bangkoo.back.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 검색 후보 클릭 이벤트 (프론트 → 백엔드)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClickEventDTO {
+    private String candidateId;     // 클릭한 후보 ID (검색 결과의 '링크')
+    private String userId;          // 로그인 사용자 ID (없으면 비로그인)
+    private String eventId;         // 프론트에서 만든 이벤트 고유 ID (재전송 중복 제거용, 선택)
+}
@@ -0,0 +1,25 @@
+package com.bangkoo.back.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 벡터 유사도 검색 결과용
+ * - 제품 기본 정보 + 코사인 유사도
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarProductDTO {
+    private String id;
+    private String name;
+    private String description;
+    private String price;
+    private String link;
+    private String imageUrl;
+    private String model3dUrl;
+    private double score;       // 코사인 유사도 (-1 ~ 1)
+}
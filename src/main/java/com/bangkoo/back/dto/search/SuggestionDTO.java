@@ -0,0 +1,15 @@
+package com.bangkoo.back.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 검색어 자동완성 응답
+ */
+@Data
+@AllArgsConstructor
+public class SuggestionDTO {
+    private String text;        // 추천 문구
+    private String type;        // PRODUCT(제품명) / QUERY(인기 검색어)
+    private String productId;   // 제품명일 때 제품 ID
+}
@@ -0,0 +1,124 @@
+package com.bangkoo.back.model.product;
+
+import com.bangkoo.back.utils.VectorMath;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 임베딩 벡터 값 객체
+ *
+ * - List<Double> 대신 float[] 하나로 보관 (차원당 약 20바이트 → 4바이트)
+ * - MongoDB 에는 기존과 동일하게 double 배열로 저장됨 (MongoConfig 의 변환기 참고)
+ * - JSON 으로는 숫자 배열 그대로 직렬화
+ * - 내부 배열은 불변으로 취급 (values() 결과를 수정하지 말 것)
+ */
+public final class Embedding {
+
+    private final float[] values;
+
+    private Embedding(float[] values) {
+        this.values = values;
+    }
+
+    /**
+     * float[] 로 생성 (배열을 복사하지 않고 그대로 사용)
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Embedding of(float[] values) {
+        return values == null ? null : new Embedding(values);
+    }
+
+    /**
+     * 숫자 리스트(Mongo 배열, 기존 List<Double>)로 생성
+     */
+    public static Embedding fromNumbers(List<?> numbers) {
+        if (numbers == null) return null;
+        float[] values = new float[numbers.size()];
+        for (int i = 0; i < values.length; i++) {
+            Object value = numbers.get(i);
+            values[i] = value instanceof Number number ? number.floatValue() : 0f;
+        }
+        return new Embedding(values);
+    }
+
+    /**
+     * 두 임베딩의 평균 (이미지 + 텍스트 결합용)
+     * - 차원이 다르면 짧은 쪽 기준
+     */
+    public static Embedding average(Embedding a, Embedding b) {
+        int size = Math.min(a.dimension(), b.dimension());
+        float[] out = new float[size];
+        VectorMath.average(a.values, b.values, out);
+        return new Embedding(out);
+    }
+
+    /**
+     * float32 little-endian 바이트열로 복원 (Redis 캐시 등 바이너리 저장용)
+     */
+    public static Embedding fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length % Float.BYTES != 0) return null;
+        float[] values = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(values);
+        return new Embedding(values);
+    }
+
+    /**
+     * float32 little-endian 바이트열 (차원당 4바이트, JSON 숫자 배열 대비 약 1/3 크기)
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(values);
+        return buffer.array();
+    }
+
+    @JsonValue
+    public float[] values() {
+        return values;
+    }
+
+    public int dimension() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    /**
+     * 정규화된 복사본 (원본은 그대로)
+     */
+    public float[] normalizedCopy() {
+        float[] copy = values.clone();
+        VectorMath.normalizeInPlace(copy);
+        return copy;
+    }
+
+    /**
+     * 코사인 유사도
+     */
+    public float cosine(Embedding other) {
+        return VectorMath.cosine(values, other.values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Embedding other)) return false;
+        return Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "Embedding{dim=" + values.length + "}";
+    }
+}
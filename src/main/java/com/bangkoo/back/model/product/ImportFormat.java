@@ -0,0 +1,9 @@
+package com.bangkoo.back.model.product;
+
+/**
+ * 제품 가져오기 입력 형식
+ */
+public enum ImportFormat {
+    CSV,    // 첫 줄 헤더, 컬럼 순서: name, description, detail, price, link, imageUrl, model3dUrl, csv
+    JSON    // ProductsRequestDTO 배열
+}
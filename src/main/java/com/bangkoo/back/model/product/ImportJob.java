@@ -0,0 +1,43 @@
+package com.bangkoo.back.model.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 제품 대량 가져오기 작업
+ * - 업로드된 CSV 는 stagingPath 에 임시 저장하고, 처리 진행 지점(committedRow)을 함께 기록
+ * - 서버가 중간에 멈춰도 재시작 시 committedRow 다음 행부터 다시 처리
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "import_jobs")
+public class ImportJob {
+
+    @Id
+    private String id;
+
+    private String fileName;            // 원본 파일명 (없으면 null)
+    private ImportFormat format;        // 입력 형식 (null 이면 CSV)
+    private String stagingPath;         // 임시 저장 파일 경로
+    private long stagedBytes;           // 임시 저장 파일 크기
+
+    private ImportJobStatus status;
+    private long committedRow;          // 처리 완료된 마지막 행 번호 (헤더 제외, 1부터)
+    private int successCount;
+    private int failureCount;
+    private List<String> errors;        // 행별 오류 (ingestion.max-reported-errors 개까지)
+    private String message;             // 작업 실패 사유
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,12 @@
+package com.bangkoo.back.model.product;
+
+/**
+ * 제품 가져오기 작업 상태
+ */
+public enum ImportJobStatus {
+    QUEUED,     // 업로드 완료, 처리 대기
+    RUNNING,    // 처리 중
+    COMPLETED,  // 모든 행 처리 완료 (행별 실패 포함)
+    FAILED,     // 처리 중단 - committedRow 다음 행부터 재개 가능
+    CANCELLED   // 사용자 취소
+}
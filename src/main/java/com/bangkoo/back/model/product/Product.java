@@ -5,10 +5,10 @@ import lombok.Data;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * 최초 작성자 : 김동규
@@ -21,14 +21,16 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(collection = "products")
+@Document(collection = "products", language = "none") // 텍스트 인덱스: 형태소 분석 없이 공백 단위
 @Builder
 public class Product {
 
     @Id
     private String id; // MongoDB 자동 ObjectId 또는 IKEA ID
 
+    @TextIndexed(weight = 3)
     private String name;           // 제품명
+    @TextIndexed
     private String description;    // 간단 설명
     private String detail;         // 상세 설명 (캡셔닝 결과)
     private String price;          // 가격 (₩단위 포함 또는 int)
@@ -38,9 +40,9 @@ public class Product {
     private String csv;            // 출처 csv 파일명
 
     private String category;
-    private List<Double> imageEmbedding;    // CLIP 기반 이미지 벡터
-    private List<Double> textEmbedding;     // 텍스트 기반 설명 벡터
-    private List<Double> combinedEmbedding; //결합된 임베딩 값
+    private Embedding imageEmbedding;       // CLIP 기반 이미지 벡터
+    private Embedding textEmbedding;        // 텍스트 기반 설명 벡터
+    private Embedding combinedEmbedding;    //결합된 임베딩 값
     
     private LocalDateTime updatedAt;        //제품 등록 시간
     private LocalDateTime createdAt;        //제품 수정 시간
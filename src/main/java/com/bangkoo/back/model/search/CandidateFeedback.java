@@ -5,11 +5,19 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
 
 @Document(collection="candidate_feedback")
+@CompoundIndexes({
+        // findByCandidateIdAndUserId
+        @CompoundIndex(name = "candidate_user", def = "{'candidateId': 1, 'userId': 1}"),
+        // CTR 표 갱신 시 최근 활동 사용자 조회
+        @CompoundIndex(name = "user_lastUpdated", def = "{'userId': 1, 'lastUpdated': 1}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
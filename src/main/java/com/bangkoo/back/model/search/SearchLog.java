@@ -2,6 +2,8 @@ package com.bangkoo.back.model.search;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -11,9 +13,16 @@ import java.time.Instant;
  * 최초 작성일: 2025-04-15
  *
  *  검색 기록용
+ *  - 인덱스는 MongoIndexInitializer 가 기동 시 생성 (보관 기간 TTL 인덱스 포함)
  **/
 @Data
 @Document(collection = "search_logs")
+@CompoundIndexes({
+        // 최근 검색어 조회: user_id 일치 + timestamp 역순, query 까지 포함해 인덱스만으로 응답
+        @CompoundIndex(name = "user_timestamp_query", def = "{'user_id': 1, 'timestamp': -1, 'query': 1}"),
+        // 검색어 개별 삭제
+        @CompoundIndex(name = "user_query", def = "{'user_id': 1, 'query': 1}")
+})
 public class SearchLog {
     @Id
     private String id;
@@ -0,0 +1,31 @@
+package com.bangkoo.back.model.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * 검색 로그 일별 집계
+ * - search_logs 는 보관 기간이 지나면 삭제되므로, 그 전에 날짜(UTC) × 검색어 단위로 묶어 보관
+ * - _id = "{day}|{query}" → 같은 날짜를 다시 집계해도 덮어쓰기
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "search_log_daily")
+@CompoundIndex(name = "day_count", def = "{'day': 1, 'count': -1}")
+public class SearchLogDaily {
+
+    @Id
+    private String id;
+
+    private String day;         // yyyy-MM-dd (UTC)
+    private String query;
+    private long count;         // 검색 횟수
+    private long users;         // 검색한 사용자 수
+}
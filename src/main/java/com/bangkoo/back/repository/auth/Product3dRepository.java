@@ -2,6 +2,18 @@ package com.bangkoo.back.repository.auth;
 
 import com.bangkoo.back.model.product.Product;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.Optional;
 
 public interface Product3dRepository extends MongoRepository<Product, String> {
+
+    /**
+     * 3D 모델 URL 만 조회 (임베딩 등 나머지 필드는 가져오지 않음)
+     *
+     * @param id 제품 ID
+     * @return model3dUrl 만 채워진 제품
+     */
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'model3dUrl': 1 }")
+    Optional<Product> findModel3dUrlById(String id);
 }
@@ -0,0 +1,13 @@
+package com.bangkoo.back.repository.product;
+
+import com.bangkoo.back.model.product.ImportJob;
+import com.bangkoo.back.model.product.ImportJobStatus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ImportJobRepository extends MongoRepository<ImportJob, String> {
+
+    List<ImportJob> findByStatusInOrderByCreatedAtAsc(Collection<ImportJobStatus> statuses);
+}
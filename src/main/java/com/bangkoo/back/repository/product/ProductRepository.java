@@ -8,24 +8,61 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends MongoRepository<Product, String> {
 
     /**
-     * name, description, id로 검색
+     * 임베딩 배열 3종을 제외하는 projection
+     * - 목록/검색처럼 임베딩을 쓰지 않는 조회에서 네트워크, 역직렬화 비용 절감
+     */
+    String WITHOUT_EMBEDDINGS = "{ 'imageEmbedding': 0, 'textEmbedding': 0, 'combinedEmbedding': 0 }";
+
+    /**
+     * name, description, id로 검색 (임베딩 제외)
      *
      * @param search
      * @param pageable
      * @return
      */
-    @Query("{'$or': [{'name': {$regex: ?0, $options: 'i'}}, {'description': {$regex: ?0, $options: 'i'}}, {'id': {$regex: ?0, $options: 'i'}}]}")
+    @Query(value = "{'$or': [{'name': {$regex: ?0, $options: 'i'}}, {'description': {$regex: ?0, $options: 'i'}}, {'id': {$regex: ?0, $options: 'i'}}]}",
+            fields = WITHOUT_EMBEDDINGS)
     Page<Product> searchByKeyword(String search, Pageable pageable);
 
     // 전체 제품 조회 (페이징 처리 포함)
     Page<Product> findAll(Pageable pageable);
 
+    /**
+     * 전체 제품 조회 (페이징, 임베딩 제외)
+     */
+    @Query(value = "{}", fields = WITHOUT_EMBEDDINGS)
+    Page<Product> findAllWithoutEmbeddings(Pageable pageable);
+
+    /**
+     * 전체 제품 조회 (임베딩 제외)
+     */
+    @Query(value = "{}", fields = WITHOUT_EMBEDDINGS)
+    List<Product> findAllWithoutEmbeddings();
+
+    /**
+     * ID 로 조회 (임베딩 제외)
+     *
+     * @param id 제품 ID
+     */
+    @Query(value = "{ '_id': ?0 }", fields = WITHOUT_EMBEDDINGS)
+    Optional<Product> findByIdWithoutEmbeddings(String id);
+
+    /**
+     * ID 목록으로 조회 (임베딩 제외)
+     *
+     * @param ids 제품 ID 목록
+     */
+    @Query(value = "{ '_id': { $in: ?0 } }", fields = WITHOUT_EMBEDDINGS)
+    List<Product> findAllByIdWithoutEmbeddings(Collection<String> ids);
+
     /**
      * 스타일과 카테고리를 기준으로 가구를 추천하기 위한 쿼리
      * (AutoRecommend에서 사용 가능)
@@ -35,4 +72,13 @@ public interface ProductRepository extends MongoRepository<Product, String> {
      */
     List<Product> findByCategory(String category);
 
+    /**
+     * 벡터 인덱스 구축용 조회
+     * - id 와 combinedEmbedding 만 가져옴
+     *
+     * @return 결합 임베딩이 있는 제품 목록
+     */
+    @Query(value = "{ 'combinedEmbedding': { $exists: true, $ne: null } }", fields = "{ 'combinedEmbedding': 1 }")
+    List<Product> findAllCombinedEmbeddings();
+
 }
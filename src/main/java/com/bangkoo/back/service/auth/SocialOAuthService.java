@@ -40,11 +40,12 @@ public class SocialOAuthService {
             SocialOAuthProperties oAuthProps,
             JwtProperties jwtProps,
             JwtUtil jwtUtil,
-            UserRepository userRepository
+            UserRepository userRepository,
+            RestTemplate restTemplate
     ) {
         this.jwtProperties = jwtProps;
         this.jwtUtil = jwtUtil;
-        this.restTemplate = new RestTemplate();
+        this.restTemplate = restTemplate;
         this.clientId = oAuthProps.getClientId();
         this.clientSecret = oAuthProps.getClientSecret();
         this.redirectUri = oAuthProps.getRedirectUri();
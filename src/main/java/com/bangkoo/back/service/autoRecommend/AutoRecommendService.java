@@ -2,12 +2,11 @@ package com.bangkoo.back.service.autoRecommend;
 
 import com.bangkoo.back.utils.JwtUtil;
 import com.bangkoo.back.utils.MultipartInputStreamFileResource;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
@@ -21,17 +20,26 @@ import java.util.List;
 import java.util.Map;
 
 @Service
-@RequiredArgsConstructor
 public class AutoRecommendService {
 
     @Value("${ai.server.url}")
     private String serverUrl; // AI 서버 URL
 
     private final RestTemplate restTemplate;                // 외부 API 호출
-    private final RedisTemplate<String, String> redisTemplate; // Redis 저장
-    private final ObjectMapper objectMapper; // JSON 변환
+    private final RedisTemplate<String, Object> redisTemplate; // Redis 저장 (Smile 바이너리)
+    private final RedisTemplate<String, Object> readRedisTemplate; // Redis 조회 (복제본 읽기 사용 시 복제본)
     private final JwtUtil jwtUtil; // JWT 유틸리티
 
+    public AutoRecommendService(@Qualifier("slowAiRestTemplate") RestTemplate restTemplate,
+                                @Qualifier("smileRedisTemplate") RedisTemplate<String, Object> redisTemplate,
+                                @Qualifier("replicaSmileRedisTemplate") RedisTemplate<String, Object> readRedisTemplate,
+                                JwtUtil jwtUtil) {
+        this.restTemplate = restTemplate;
+        this.redisTemplate = redisTemplate;
+        this.readRedisTemplate = readRedisTemplate;
+        this.jwtUtil = jwtUtil;
+    }
+
     /**
      * FastAPI에 이미지 전송하여 추천 목록(List<Map<String,Object>>)을 받고,
      * Redis에 key로 저장하는 메서드
@@ -77,15 +85,10 @@ public class AutoRecommendService {
                 throw new RuntimeException("AI 서버에서 빈 추천 목록을 받았습니다.");
             }
 
-            // 4) Redis에 저장
-            String json = objectMapper.writeValueAsString(recommendations);
-            redisTemplate.opsForValue().set(useId, json);
+            // 4) Redis에 저장 (Smile 바이너리 - JSON 문자열 변환 없이 바로 직렬화)
+            redisTemplate.opsForValue().set(useId, recommendations);
             System.out.println("Redis 저장 완료 key=" + useId + ", count=" + recommendations.size());
 
-            // 5) 저장된 값 확인
-            String stored = redisTemplate.opsForValue().get(useId);
-            System.out.println(stored != null ? "Redis에 저장된 JSON: " + stored : "Redis에 값이 없습니다.");
-
             return recommendations;
         } catch (IOException e) {
             throw new RuntimeException("파일 처리 실패: " + e.getMessage(), e);
@@ -105,15 +108,16 @@ public class AutoRecommendService {
      * @param redisKey 저장된 키 (사용자 이메일 등으로)
      * @return 리스트가 없으면 빈 리스트 반환
      */
+    @SuppressWarnings("unchecked")
     public List<Map<String, Object>> getRecommendationsFromRedis(String redisKey) {
         try {
-            String json = redisTemplate.opsForValue().get(redisKey);
-            if (json == null) {
+            Object stored = readRedisTemplate.opsForValue().get(redisKey);
+            if (stored == null) {
                 System.out.println("Redis에 추천 결과가 없습니다.");
                 return Collections.emptyList();
             }
-            return objectMapper.readValue(json, new TypeReference<List<Map<String, Object>>>() {});
-        } catch (IOException e) {
+            return (List<Map<String, Object>>) stored;
+        } catch (SerializationException | ClassCastException e) {
             System.err.println("Redis 조회 실패: " + e.getMessage());
             throw new RuntimeException("Redis 조회 실패: " + e.getMessage(), e);
         }
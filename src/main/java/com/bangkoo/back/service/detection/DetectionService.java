@@ -4,6 +4,8 @@ import com.bangkoo.back.dto.detection.DetectionResponseDTO;
 import com.bangkoo.back.model.detection.Detection;
 import com.bangkoo.back.model.detection.DetectionResult;
 import com.bangkoo.back.utils.MultipartInputStreamFileResource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.*;
@@ -16,11 +18,18 @@ import java.util.List;
 @Service
 public class DetectionService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+
+    @Value("${ai.server.url}")
+    private String aiBaseUrl;
+
+    public DetectionService(@Qualifier("slowAiRestTemplate") RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
 
     public DetectionResponseDTO upload(byte[] imageBytes,int width,int height) {
         // FastAPI 서버 주소
-        String fastApiUrl = "http://localhost:8000/api/detect_all_base64";
+        String fastApiUrl = aiBaseUrl + "/detect_all_base64";
 
         // HTTP 헤더 설정
         HttpHeaders headers = new HttpHeaders();
@@ -0,0 +1,231 @@
+package com.bangkoo.back.service.embedding;
+
+import com.bangkoo.back.config.properites.EmbeddingProperties;
+import com.bangkoo.back.model.product.Embedding;
+import com.bangkoo.back.service.redis.RedisPipelineExecutor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 임베딩 2단계 캐시 (JVM 내 Caffeine → Redis)
+ *
+ * - 키: emb:{모델버전}:{종류}:{SHA-256(정규화된 입력)}
+ *   같은 이미지 URL / 같은 설명 문구는 재등록, 수정, CSV 간 중복 행이어도 한 번만 계산
+ *   모델 버전을 바꾸면 키가 달라져 이전 모델 벡터는 자연스럽게 만료
+ * - 값: float32 little-endian 바이트열 (Embedding.toBytes)
+ * - Redis 장애 시 캐시만 건너뛰고 FastAPI 호출로 진행
+ * - 지표: embedding.cache.requests{tier=local|redis, result=hit|miss}, cache.* {cache=embedding}
+ */
+@Slf4j
+@Component
+public class EmbeddingCache {
+
+    /**
+     * 임베딩 종류 (키 구분용)
+     */
+    public enum Kind {
+        IMAGE_URL("img"),
+        TEXT("txt");
+
+        private final String code;
+
+        Kind(String code) {
+            this.code = code;
+        }
+    }
+
+    /** 캐시하지 않는 입력(null)의 자리 표시 키 접두사 */
+    private static final String UNCACHED = "#";
+
+    private final EmbeddingProperties properties;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final RedisPipelineExecutor pipelineExecutor;
+    private final Cache<String, Embedding> local;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    public EmbeddingCache(EmbeddingProperties properties,
+                          RedisTemplate<String, byte[]> binaryRedisTemplate,
+                          RedisPipelineExecutor pipelineExecutor,
+                          MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = binaryRedisTemplate;
+        this.pipelineExecutor = pipelineExecutor;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getLocalMaxEntries())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "embedding");
+        this.localHits = counter(meterRegistry, "local", "hit");
+        this.localMisses = counter(meterRegistry, "local", "miss");
+        this.redisHits = counter(meterRegistry, "redis", "hit");
+        this.redisMisses = counter(meterRegistry, "redis", "miss");
+    }
+
+    /**
+     * 단건 조회 (없으면 loader 로 계산 후 저장)
+     *
+     * @param kind   임베딩 종류
+     * @param input  이미지 URL 또는 텍스트 (null 이면 캐시하지 않음)
+     * @param loader 캐시 미스 시 실제 임베딩 계산
+     */
+    public Embedding get(Kind kind, String input, Supplier<Embedding> loader) {
+        if (!properties.getCache().isEnabled() || input == null) {
+            return loader.get();
+        }
+        return getAll(kind, List.of(input), misses -> Collections.singletonList(loader.get())).get(0);
+    }
+
+    /**
+     * 여러 건 조회 - 캐시에 없는 입력만 모아 loader 를 한 번 호출
+     *
+     * @param kind   임베딩 종류
+     * @param inputs 입력 목록 (null 항목은 캐시하지 않고 loader 로 전달)
+     * @param loader 미스 입력 목록 → 같은 순서의 임베딩 목록 (실패한 항목은 null)
+     * @return inputs 와 같은 순서의 임베딩 목록
+     */
+    public List<Embedding> getAll(Kind kind, List<String> inputs, Function<List<String>, List<Embedding>> loader) {
+        if (!properties.getCache().isEnabled()) {
+            return loader.apply(inputs);
+        }
+
+        Embedding[] result = new Embedding[inputs.size()];
+        Map<String, List<Integer>> missing = new LinkedHashMap<>(); // 키 → 입력 위치 (중복 입력은 한 번만 계산)
+
+        for (int i = 0; i < inputs.size(); i++) {
+            String key = inputs.get(i) == null ? null : key(kind, inputs.get(i));
+            Embedding cached = key == null ? null : local.getIfPresent(key);
+            if (cached != null) {
+                localHits.increment();
+                result[i] = cached;
+            } else {
+                if (key != null) localMisses.increment();
+                missing.computeIfAbsent(key != null ? key : UNCACHED + i, k -> new ArrayList<>()).add(i);
+            }
+        }
+        if (missing.isEmpty()) return Arrays.asList(result);
+
+        loadFromRedis(missing, result);
+        if (missing.isEmpty()) return Arrays.asList(result);
+
+        // 남은 미스만 실제 계산
+        List<String> missKeys = new ArrayList<>(missing.keySet());
+        List<String> missInputs = missKeys.stream().map(k -> inputs.get(missing.get(k).get(0))).toList();
+        List<Embedding> loaded = loader.apply(missInputs);
+
+        Map<String, byte[]> toRedis = new LinkedHashMap<>();
+        for (int i = 0; i < missKeys.size(); i++) {
+            Embedding embedding = i < loaded.size() ? loaded.get(i) : null;
+            String key = missKeys.get(i);
+            for (int position : missing.get(key)) {
+                result[position] = embedding;
+            }
+            if (embedding != null && !embedding.isEmpty() && !key.startsWith(UNCACHED)) {
+                local.put(key, embedding);
+                toRedis.put(key, embedding.toBytes());
+            }
+        }
+        saveToRedis(toRedis);
+        return Arrays.asList(result);
+    }
+
+    /**
+     * Redis 에서 미스 키 일괄 조회 → 찾은 항목은 result 에 채우고 missing 에서 제거
+     */
+    private void loadFromRedis(Map<String, List<Integer>> missing, Embedding[] result) {
+        if (!properties.getCache().isRedisEnabled()) return;
+
+        List<String> redisKeys = missing.keySet().stream().filter(k -> !k.startsWith(UNCACHED)).toList();
+        if (redisKeys.isEmpty()) return;
+
+        List<byte[]> values;
+        try {
+            values = redisTemplate.opsForValue().multiGet(redisKeys);
+        } catch (Exception e) {
+            log.warn("임베딩 캐시 Redis 조회 실패 - {}", e.getMessage());
+            return;
+        }
+        if (values == null) return;
+
+        for (int i = 0; i < redisKeys.size(); i++) {
+            String key = redisKeys.get(i);
+            Embedding embedding = i < values.size() ? Embedding.fromBytes(values.get(i)) : null;
+            if (embedding == null || embedding.isEmpty()) {
+                redisMisses.increment();
+                continue;
+            }
+            redisHits.increment();
+            local.put(key, embedding);
+            for (int position : missing.remove(key)) {
+                result[position] = embedding;
+            }
+        }
+    }
+
+    private void saveToRedis(Map<String, byte[]> entries) {
+        if (!properties.getCache().isRedisEnabled() || entries.isEmpty()) return;
+        Duration ttl = properties.getCache().getRedisTtl();
+        try {
+            // SET key value EX ttl 을 파이프라인으로 한 번에 전송
+            pipelineExecutor.execute("embedding", redisTemplate, entries.entrySet(),
+                    (operations, entry) -> operations.opsForValue().set(entry.getKey(), entry.getValue(), ttl));
+        } catch (Exception e) {
+            log.warn("임베딩 캐시 Redis 저장 실패 - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 캐시 키 생성
+     * - 이미지 URL: 앞뒤 공백 제거
+     * - 텍스트: 유니코드 NFC 정규화 + 공백 연속 제거 + 앞뒤 공백 제거 (대소문자는 모델 결과가 달라질 수 있어 유지)
+     */
+    String key(Kind kind, String input) {
+        String normalized = switch (kind) {
+            case IMAGE_URL -> input.trim();
+            case TEXT -> Normalizer.normalize(input, Normalizer.Form.NFC).replaceAll("\\s+", " ").trim();
+        };
+        return "emb:" + properties.getModelVersion() + ":" + kind.code + ":" + sha256(normalized);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("embedding.cache.requests")
+                .description("임베딩 캐시 조회 결과")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -1,20 +1,32 @@
 package com.bangkoo.back.service.embedding;
 
+import com.bangkoo.back.config.properites.EmbeddingProperties;
 import com.bangkoo.back.dto.embedding.EmbeddingProductRequestDTO;
 import com.bangkoo.back.dto.embedding.EmbeddingRequestDTO;
+import com.bangkoo.back.model.product.Embedding;
 import com.bangkoo.back.model.product.Product;
 import com.bangkoo.back.repository.product.ProductRepository;
+import com.bangkoo.back.service.search.SearchResultCache;
+import com.bangkoo.back.service.search.SuggestionService;
+import com.bangkoo.back.service.search.VectorSearchService;
+import com.bangkoo.back.utils.MicroBatcher;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+@Slf4j
 @Service
 public class EmbeddingService {
     /**
@@ -27,17 +39,39 @@ public class EmbeddingService {
 
     private final ProductRepository productRepository;
     private final RestTemplate restTemplate;
+    private final VectorSearchService vectorSearchService;
+    private final SearchResultCache searchResultCache;
+    private final SuggestionService suggestionService;
+    private final EmbeddingCache embeddingCache;
+    private final MicroBatcher<String, Embedding> textBatcher;     // 텍스트 임베딩 요청 묶음 처리
+    private volatile boolean textListEndpoint;                      // /text-embedding/list 사용 여부 (404/405 응답 시 false 로 전환)
 
     // 의존성 주입을 통해 RestTemplate과 ProductRepository를 초기화
-    public EmbeddingService(RestTemplate restTemplate, ProductRepository productRepository) {
+    public EmbeddingService(RestTemplate restTemplate, ProductRepository productRepository,
+                            VectorSearchService vectorSearchService, SearchResultCache searchResultCache,
+                            SuggestionService suggestionService, EmbeddingCache embeddingCache,
+                            EmbeddingProperties embeddingProperties) {
         this.restTemplate = restTemplate;
         this.productRepository = productRepository;
+        this.vectorSearchService = vectorSearchService;
+        this.searchResultCache = searchResultCache;
+        this.suggestionService = suggestionService;
+        this.embeddingCache = embeddingCache;
+
+        EmbeddingProperties.TextBatch batch = embeddingProperties.getTextBatch();
+        this.textListEndpoint = batch.isListEndpoint();
+        this.textBatcher = new MicroBatcher<>("text-embedding", this::requestTextEmbeddings,
+                batch.getMaxSize(), batch.getLinger().toNanos(), batch.getMaxInFlight());
     }
 
     /**
-     * 이미지 URL을 바탕으로 임베딩 생성
+     * 이미지 URL을 바탕으로 임베딩 생성 (캐시 우선)
      */
-    public List<Double> generateImageEmbedding(String imageUrl) {
+    public Embedding generateImageEmbedding(String imageUrl) {
+        return embeddingCache.get(EmbeddingCache.Kind.IMAGE_URL, imageUrl, () -> requestImageEmbedding(imageUrl));
+    }
+
+    private Embedding requestImageEmbedding(String imageUrl) {
         // HTTP 헤더 설정 (JSON 형식)
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -58,40 +92,107 @@ public class EmbeddingService {
         HttpEntity<List<EmbeddingProductRequestDTO>> request = new HttpEntity<>(requestList, headers);
 
         // FastAPI의 /embedding 엔드포인트에 POST 요청
-        // 응답을 List<Double> 형태로 받기 위해 ResponseEntity<List<Double>>로 처리
-        ResponseEntity<List<Double>> response = restTemplate.exchange(
+        // 응답을 박싱 없이 float[]로 바로 역직렬화
+        ResponseEntity<float[]> response = restTemplate.exchange(
                 aiBaseUrl + "/embedding", // FastAPI URL
                 HttpMethod.POST,
                 request,
-                new ParameterizedTypeReference<List<Double>>() {}
+                float[].class
         );
 
-        // 응답 본문을 List<Double>로 반환
-        return response.getBody();
+        return Embedding.of(response.getBody());
     }
 
     /**
-     * 텍스트를 바탕으로 임베딩 생성
+     * 텍스트를 바탕으로 임베딩 생성 (캐시 우선)
+     * - 캐시에 없으면 같은 시점의 다른 요청과 묶어 /text-embedding/list 로 한 번에 요청
      */
-    public List<Double> generateTextEmbedding(String text) {
-        // HTTP 헤더 설정 (JSON 형식)
+    public Embedding generateTextEmbedding(String text) {
+        return embeddingCache.get(EmbeddingCache.Kind.TEXT, text, () -> join(textBatcher.submit(text)));
+    }
+
+    /**
+     * 텍스트 목록 임베딩 생성 (캐시 우선)
+     * - 캐시에 없는 텍스트만 text-batch.max-size 단위로 묶어 요청
+     *
+     * @return texts 와 같은 순서의 임베딩 목록
+     */
+    public List<Embedding> generateTextEmbeddings(List<String> texts) {
+        return embeddingCache.getAll(EmbeddingCache.Kind.TEXT, texts, misses -> join(textBatcher.submitAll(misses)));
+    }
+
+    /**
+     * FastAPI 텍스트 임베딩 배치 요청 (MicroBatcher 에서 호출)
+     * - 요청: ["문장1", "문장2", ...] / 응답: 같은 순서의 벡터 배열
+     * - AI 서버에 /text-embedding/list 가 없으면(404/405) 이후로는 /text-embedding 을 텍스트마다 호출
+     */
+    private List<Embedding> requestTextEmbeddings(List<String> texts) {
+        // null 은 빈 문자열로 보냄 (FastAPI 쪽 str 검증)
+        List<String> requestBody = texts.stream().map(text -> text == null ? "" : text).toList();
+        if (textListEndpoint) {
+            try {
+                return requestTextEmbeddingList(requestBody);
+            } catch (HttpClientErrorException.NotFound | HttpClientErrorException.MethodNotAllowed e) {
+                textListEndpoint = false;
+                log.warn("/text-embedding/list 미지원 ({}) - /text-embedding 개별 요청으로 전환", e.getStatusCode());
+            }
+        }
+
+        List<Embedding> embeddings = new ArrayList<>(requestBody.size());
+        for (String text : requestBody) {
+            embeddings.add(requestTextEmbedding(text));
+        }
+        return embeddings;
+    }
+
+    private List<Embedding> requestTextEmbeddingList(List<String> texts) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<List<String>> request = new HttpEntity<>(texts, headers);
 
-        // 텍스트 데이터를 HTTP 요청에 담기
+        ResponseEntity<List<float[]>> response = restTemplate.exchange(
+                aiBaseUrl + "/text-embedding/list",
+                HttpMethod.POST,
+                request,
+                new ParameterizedTypeReference<>() {}
+        );
+
+        List<float[]> body = response.getBody();
+        if (body == null) return List.of();
+        return body.stream().map(Embedding::of).toList();
+    }
+
+    private Embedding requestTextEmbedding(String text) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<String> request = new HttpEntity<>(text, headers);
 
         // FastAPI의 /text-embedding 엔드포인트에 POST 요청
-        // 응답을 List<Double> 형태로 받기 위해 ResponseEntity<List<Double>>로 처리
-        ResponseEntity<List<Double>> response = restTemplate.exchange(
-                aiBaseUrl + "/text-embedding",  // 별도 경로
+        ResponseEntity<float[]> response = restTemplate.exchange(
+                aiBaseUrl + "/text-embedding",
                 HttpMethod.POST,
                 request,
-                new ParameterizedTypeReference<List<Double>>() {}
+                float[].class
         );
 
-        // 응답 본문을 List<Double>로 반환
-        return response.getBody();
+        return Embedding.of(response.getBody());
+    }
+
+    /**
+     * 배치 결과 대기 (배치 요청 예외를 원래 예외로 풀어서 전달)
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        textBatcher.close();
     }
 
     /**
@@ -99,13 +200,13 @@ public class EmbeddingService {
      */
     public Product saveProductWithEmbeddings(EmbeddingRequestDTO dto) {
         // FastAPI로 임베딩 요청: 이미지 URL을 바탕으로 임베딩 생성
-        List<Double> imageEmbedding = generateImageEmbedding(dto.getImageUrl());
+        Embedding imageEmbedding = generateImageEmbedding(dto.getImageUrl());
 
         // FastAPI로 임베딩 요청: 텍스트를 바탕으로 임베딩 생성
-        List<Double> textEmbedding = generateTextEmbedding(dto.getDescription() + " " + dto.getDetail());
+        Embedding textEmbedding = generateTextEmbedding(dto.getDescription() + " " + dto.getDetail());
 
         // 이미지 임베딩과 텍스트 임베딩을 결합하여 combinedEmbedding 생성
-        List<Double> combinedEmbedding = averageEmbedding(imageEmbedding, textEmbedding);
+        Embedding combinedEmbedding = Embedding.average(imageEmbedding, textEmbedding);
 
         // 제품 객체 생성
         Product product = Product.builder()
@@ -121,26 +222,22 @@ public class EmbeddingService {
                 .build();
 
         // 생성된 제품 정보를 데이터베이스에 저장
-        return productRepository.save(product);
+        // ProductService.save 와 같이 벡터 인덱스 / 검색 결과 캐시 / 자동완성 색인 갱신
+        Product saved = productRepository.save(product);
+        vectorSearchService.invalidate();
+        searchResultCache.invalidateAll();
+        suggestionService.onProductSaved(saved);
+        return saved;
     }
 
     /**
-     * 평균 임베딩 벡터 계산 (이미지 임베딩과 텍스트 임베딩을 결합)
-     * @param a 이미지 임베딩
-     * @param b 텍스트 임베딩
-     * @return 결합된 평균 임베딩
+     * 이미지 URL 목록 임베딩 생성 (캐시에 없는 URL 만 한 번에 요청)
      */
-    private List<Double> averageEmbedding(List<Double> a, List<Double> b) {
-        // 두 임베딩 벡터의 크기가 다를 수 있으므로, 작은 크기로 맞추어 평균을 계산
-        int size = Math.min(a.size(), b.size());
-        return IntStream.range(0, size)
-                .mapToObj(i -> (a.get(i) + b.get(i)) / 2.0)  // 각 인덱스마다 평균값 계산
-                .toList();  // List<Double>로 반환
+    public List<Embedding> generateImageEmbeddings(List<String> imageUrls) {
+        return embeddingCache.getAll(EmbeddingCache.Kind.IMAGE_URL, imageUrls, this::requestImageEmbeddings);
     }
 
-    // EmbeddingService.java
-
-    public List<List<Double>> generateImageEmbeddings(List<String> imageUrls) {
+    private List<Embedding> requestImageEmbeddings(List<String> imageUrls) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
 
@@ -150,14 +247,16 @@ public class EmbeddingService {
 
         HttpEntity<List<Map<String, String>>> request = new HttpEntity<>(requestBody, headers);
 
-        ResponseEntity<List<List<Double>>> response = restTemplate.exchange(
-                "http://localhost:8000/embedding/image/list",
+        ResponseEntity<List<float[]>> response = restTemplate.exchange(
+                aiBaseUrl + "/embedding/image/list",
                 HttpMethod.POST,
                 request,
                 new ParameterizedTypeReference<>() {}
         );
 
-        return response.getBody();
+        List<float[]> body = response.getBody();
+        if (body == null) return List.of();
+        return body.stream().map(Embedding::of).toList();
     }
 
 }
@@ -4,7 +4,7 @@ import com.bangkoo.back.dto.placement.PlacementResultResponse;
 import com.bangkoo.back.model.placement.PlacementResult;
 import com.bangkoo.back.repository.placement.PlacementResultRepository;
 import com.bangkoo.back.utils.S3Uploader;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
@@ -32,13 +32,20 @@ import static org.springframework.http.HttpStatus.*;
  * - AI 서버 요청 및 결과 저장 로직 담당
  */
 @Service
-@RequiredArgsConstructor
 public class PlacementService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
     private final S3Uploader s3Uploader;
     private final PlacementResultRepository placementResultRepository;
 
+    public PlacementService(@Qualifier("slowAiRestTemplate") RestTemplate restTemplate,
+                            S3Uploader s3Uploader,
+                            PlacementResultRepository placementResultRepository) {
+        this.restTemplate = restTemplate;
+        this.s3Uploader = s3Uploader;
+        this.placementResultRepository = placementResultRepository;
+    }
+
     @Value("${ai.server.url}")
     private String aiBaseUrl;
 
@@ -0,0 +1,316 @@
+package com.bangkoo.back.service.product;
+
+import com.bangkoo.back.config.properites.IngestionProperties;
+import com.bangkoo.back.dto.product.ProductsRequestDTO;
+import com.bangkoo.back.model.product.ImportFormat;
+import com.bangkoo.back.model.product.ImportJob;
+import com.bangkoo.back.model.product.ImportJobStatus;
+import com.bangkoo.back.repository.product.ImportJobRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 제품 대량 가져오기 작업
+ *
+ * 1. 요청 본문을 그대로 임시 파일로 복사 (multipart 크기 제한 / 메모리 사용 없음)
+ * 2. 작업 전용 스레드에서 임시 파일을 한 행씩 읽어 대량 등록 파이프라인으로 전달
+ * 3. 진행 지점이 앞으로 나갈 때마다 import_jobs 문서에 기록
+ * 4. 실패/중단 시 임시 파일을 남겨두고, 재개하면 committedRow 다음 행부터 처리
+ *    - 서버 재시작 시 QUEUED/RUNNING 상태로 남은 작업은 자동으로 재개
+ */
+@Slf4j
+@Service
+public class ImportJobService {
+
+    private static final long SHUTDOWN_WAIT_SECONDS = 30;
+
+    private final ImportJobRepository importJobRepository;
+    private final ProductIngestionService productIngestionService;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final IngestionProperties properties;
+    private final ExecutorService executor;
+
+    /** 이 서버에서 실행 중인 작업 (같은 작업 중복 실행 방지) */
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+    /** 취소 요청된 작업 */
+    private final Set<String> cancelRequests = ConcurrentHashMap.newKeySet();
+    private volatile boolean shuttingDown = false;
+
+    public ImportJobService(ImportJobRepository importJobRepository,
+                            ProductIngestionService productIngestionService,
+                            MongoTemplate mongoTemplate,
+                            ObjectMapper objectMapper,
+                            IngestionProperties properties) {
+        this.importJobRepository = importJobRepository;
+        this.productIngestionService = productIngestionService;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getJobConcurrency()), r -> {
+            Thread thread = new Thread(r, "import-job-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 업로드 본문을 임시 파일로 저장하고 작업 생성
+     *
+     * @param body     본문 스트림 (CSV 원문 또는 ProductsRequestDTO JSON 배열)
+     * @param fileName 원본 파일명 (선택)
+     * @param format   입력 형식
+     * @return QUEUED 상태의 작업
+     */
+    public ImportJob createJob(InputStream body, String fileName, ImportFormat format) throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .fileName(fileName)
+                .format(format)
+                .status(ImportJobStatus.QUEUED)
+                .errors(List.of())
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+
+        Path stagingDir = Paths.get(properties.getStagingDir());
+        Files.createDirectories(stagingDir);
+        Path staged = stagingDir.resolve(job.getId() + (format == ImportFormat.JSON ? ".json" : ".csv"));
+        try {
+            long bytes = Files.copy(body, staged);
+            job.setStagingPath(staged.toString());
+            job.setStagedBytes(bytes);
+            job.setUpdatedAt(LocalDateTime.now());
+            log.info("가져오기 본문 임시 저장 완료 - jobId: {}, 형식: {}, {} bytes", job.getId(), format, bytes);
+            return importJobRepository.save(job);
+        } catch (IOException e) {
+            Files.deleteIfExists(staged);
+            job.setStatus(ImportJobStatus.FAILED);
+            job.setMessage("업로드 저장 실패: " + e.getMessage());
+            job.setUpdatedAt(LocalDateTime.now());
+            importJobRepository.save(job);
+            throw e;
+        }
+    }
+
+    /**
+     * 작업을 작업 전용 스레드에 제출 (즉시 반환)
+     *
+     * @return 제출 시점의 작업 상태
+     */
+    public ImportJob submit(String jobId) {
+        ImportJob job = getJob(jobId);
+        if (job.getStatus() == ImportJobStatus.COMPLETED || job.getStatus() == ImportJobStatus.CANCELLED) {
+            return job;
+        }
+        if (job.getStatus() == ImportJobStatus.FAILED) {
+            updateStatus(jobId, ImportJobStatus.QUEUED, null); // 재개 요청
+            job = getJob(jobId);
+        }
+        executor.execute(() -> run(jobId));
+        return job;
+    }
+
+    /**
+     * 작업 취소
+     * - 대기 중이면 바로 CANCELLED, 실행 중이면 진행 중인 배치까지만 마치고 CANCELLED
+     * - 이미 저장된 제품은 그대로 남음
+     */
+    public ImportJob cancel(String jobId) {
+        ImportJob job = getJob(jobId);
+        if (job.getStatus() == ImportJobStatus.COMPLETED || job.getStatus() == ImportJobStatus.CANCELLED) {
+            return job;
+        }
+
+        cancelRequests.add(jobId);
+        if (runningJobs.contains(jobId)) {
+            log.info("가져오기 작업 취소 요청 - jobId: {} (진행 중인 배치 완료 후 중단)", jobId);
+            return job;
+        }
+        cancelRequests.remove(jobId);
+        deleteStagingFile(job);
+        return finish(job, ImportJobStatus.CANCELLED, "사용자 취소");
+    }
+
+    /**
+     * 작업 실행 (처음 실행 / 재개 공통)
+     * - committedRow 까지는 건너뛰고 다음 행부터 처리
+     *
+     * @return 종료 시점의 작업 상태
+     */
+    public ImportJob run(String jobId) {
+        ImportJob job = getJob(jobId);
+        if (job.getStatus() == ImportJobStatus.COMPLETED || job.getStatus() == ImportJobStatus.CANCELLED) {
+            return job;
+        }
+        if (job.getStagingPath() == null || !Files.exists(Paths.get(job.getStagingPath()))) {
+            return finish(job, ImportJobStatus.FAILED, "임시 저장 파일이 없어 재개할 수 없습니다.");
+        }
+        if (!runningJobs.add(jobId)) {
+            return job; // 이미 처리 중
+        }
+        try {
+            return process(job);
+        } finally {
+            runningJobs.remove(jobId);
+        }
+    }
+
+    public ImportJob getJob(String jobId) {
+        return importJobRepository.findById(jobId)
+                .orElseThrow(() -> new NoSuchElementException("가져오기 작업을 찾지 못 했습니다. ID: " + jobId));
+    }
+
+    /**
+     * 서버 시작 시 끝나지 않은 작업 재개
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        if (!properties.isResumeOnStartup()) return;
+
+        List<ImportJob> jobs = importJobRepository.findByStatusInOrderByCreatedAtAsc(
+                List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING));
+        for (ImportJob job : jobs) {
+            log.info("중단된 가져오기 작업 재개 - jobId: {}, 시작 행: {}", job.getId(), job.getCommittedRow() + 1);
+            executor.execute(() -> run(job.getId()));
+        }
+    }
+
+    /**
+     * 서버 종료 시 새 행 읽기를 멈추고 진행 중인 배치만 마무리
+     * - 작업 상태는 RUNNING 으로 남겨 다음 시작 때 이어서 처리
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        shuttingDown = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private ImportJob process(ImportJob job) {
+        String jobId = job.getId();
+        updateStatus(jobId, ImportJobStatus.RUNNING, null);
+        log.info("제품 가져오기 시작 - jobId: {}, 시작 행: {}", jobId, job.getCommittedRow() + 1);
+
+        IngestionCheckpoint resumeFrom = new IngestionCheckpoint(
+                job.getCommittedRow(), job.getSuccessCount(), job.getFailureCount(), job.getErrors());
+        IngestionListener listener = new IngestionListener() {
+            @Override
+            public void onCheckpoint(IngestionCheckpoint checkpoint) {
+                saveCheckpoint(jobId, checkpoint);
+            }
+
+            @Override
+            public boolean isStopRequested() {
+                return shuttingDown || cancelRequests.contains(jobId);
+            }
+        };
+
+        try (InputStream in = Files.newInputStream(Paths.get(job.getStagingPath()))) {
+            if (job.getFormat() == ImportFormat.JSON) {
+                try (MappingIterator<ProductsRequestDTO> rows =
+                             objectMapper.readerFor(ProductsRequestDTO.class).readValues(in)) {
+                    productIngestionService.ingest(rows, resumeFrom, jobId, listener);
+                }
+            } else {
+                try (ProductCsvReader rows = new ProductCsvReader(in)) {
+                    productIngestionService.ingest(rows, resumeFrom, jobId, listener);
+                }
+            }
+        } catch (Exception e) {
+            cancelRequests.remove(jobId);
+            if (shuttingDown) {
+                log.warn("서버 종료로 가져오기 중단 - jobId: {} (재시작 시 재개)", jobId);
+                return getJob(jobId);
+            }
+            log.error("제품 가져오기 실패 - jobId: {}", jobId, e);
+            return finish(getJob(jobId), ImportJobStatus.FAILED, e.getMessage());
+        }
+
+        if (cancelRequests.remove(jobId)) {
+            deleteStagingFile(job);
+            return finish(getJob(jobId), ImportJobStatus.CANCELLED, "사용자 취소");
+        }
+        if (shuttingDown) {
+            log.info("서버 종료로 가져오기 일시 중단 - jobId: {} (재시작 시 재개)", jobId);
+            return getJob(jobId);
+        }
+        deleteStagingFile(job);
+        return finish(getJob(jobId), ImportJobStatus.COMPLETED, null);
+    }
+
+    /**
+     * 진행 지점 기록 (문서 전체가 아닌 진행 필드만 갱신)
+     */
+    private void saveCheckpoint(String jobId, IngestionCheckpoint checkpoint) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(jobId)),
+                new Update()
+                        .set("committedRow", checkpoint.committedRow())
+                        .set("successCount", checkpoint.successCount())
+                        .set("failureCount", checkpoint.failureCount())
+                        .set("errors", checkpoint.errors())
+                        .set("updatedAt", LocalDateTime.now()),
+                ImportJob.class);
+        log.debug("제품 가져오기 진행 - jobId: {}, 행: {}, 성공: {}, 실패: {}", jobId,
+                checkpoint.committedRow(), checkpoint.successCount(), checkpoint.failureCount());
+    }
+
+    private void updateStatus(String jobId, ImportJobStatus status, String message) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(jobId)),
+                new Update()
+                        .set("status", status)
+                        .set("message", message)
+                        .set("updatedAt", LocalDateTime.now()),
+                ImportJob.class);
+    }
+
+    private ImportJob finish(ImportJob job, ImportJobStatus status, String message) {
+        LocalDateTime now = LocalDateTime.now();
+        job.setStatus(status);
+        job.setMessage(message);
+        job.setUpdatedAt(now);
+        job.setFinishedAt(now);
+        log.info("제품 가져오기 종료 - jobId: {}, 상태: {}, 처리 행: {}, 성공: {}, 실패: {}", job.getId(), status,
+                job.getCommittedRow(), job.getSuccessCount(), job.getFailureCount());
+        return importJobRepository.save(job);
+    }
+
+    private void deleteStagingFile(ImportJob job) {
+        if (job.getStagingPath() == null) return;
+        try {
+            Files.deleteIfExists(Paths.get(job.getStagingPath()));
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패 - {}", job.getStagingPath(), e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.bangkoo.back.service.product;
+
+import java.util.List;
+
+/**
+ * 대량 등록 진행 지점
+ *
+ * - committedRow 까지의 행은 모두 처리(성공 또는 실패 기록) 완료
+ * - 배치는 순서와 무관하게 끝나므로, 빈틈 없이 연속으로 끝난 마지막 행 번호만 기록
+ * - 재시작 시 committedRow 다음 행부터 이어서 처리
+ *
+ * @param committedRow 처리 완료된 마지막 입력 행 번호 (0 = 시작 전)
+ * @param successCount committedRow 까지의 성공 수
+ * @param failureCount committedRow 까지의 실패 수
+ * @param errors       committedRow 까지의 행별 오류 메시지
+ */
+public record IngestionCheckpoint(long committedRow, int successCount, int failureCount, List<String> errors) {
+
+    public static final IngestionCheckpoint START = new IngestionCheckpoint(0, 0, 0, List.of());
+
+    public IngestionCheckpoint {
+        errors = errors == null ? List.of() : List.copyOf(errors);
+    }
+}
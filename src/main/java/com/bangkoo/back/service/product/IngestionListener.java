@@ -0,0 +1,21 @@
+package com.bangkoo.back.service.product;
+
+/**
+ * 대량 등록 진행 상황 수신
+ * - 진행 지점(committedRow)이 앞으로 나갈 때마다 호출 (호출 순서 = 진행 순서)
+ */
+@FunctionalInterface
+public interface IngestionListener {
+
+    IngestionListener NONE = checkpoint -> {
+    };
+
+    void onCheckpoint(IngestionCheckpoint checkpoint);
+
+    /**
+     * true 를 반환하면 더 이상 행을 읽지 않고, 이미 제출된 배치만 마친 뒤 종료 (취소 / 서버 종료)
+     */
+    default boolean isStopRequested() {
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package com.bangkoo.back.service.product;
+
+import com.bangkoo.back.dto.csv.CsvUploadResponseDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 제품 대량 등록 결과 집계
+ *
+ * - 여러 배치 스레드에서 동시에 기록하므로 thread-safe 하게 작성
+ * - 오류 메시지는 maxErrors 개까지만 보관 (수만 행 실패 시 응답 폭주 방지)
+ */
+public class IngestionReport {
+
+    private final AtomicInteger successCount = new AtomicInteger();
+    private final AtomicInteger failureCount = new AtomicInteger();
+    private final List<String> errors = new ArrayList<>();
+    private final int maxErrors;
+
+    public IngestionReport(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * 저장된 진행 지점에서 집계 복원 (중단된 작업 재개용)
+     */
+    public static IngestionReport from(IngestionCheckpoint checkpoint, int maxErrors) {
+        IngestionReport report = new IngestionReport(maxErrors);
+        report.successCount.set(checkpoint.successCount());
+        report.failureCount.set(checkpoint.failureCount());
+        report.errors.addAll(checkpoint.errors().subList(0, Math.min(maxErrors, checkpoint.errors().size())));
+        return report;
+    }
+
+    public void success(int count) {
+        successCount.addAndGet(count);
+    }
+
+    /**
+     * 행 단위 실패 기록
+     *
+     * @param rowNumber 1부터 시작하는 입력 행 번호
+     * @param name      제품명 (없으면 null)
+     * @param reason    실패 사유
+     */
+    public void failure(long rowNumber, String name, String reason) {
+        failureCount.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(rowNumber + "행" + (name != null ? " (" + name + ")" : "") + ": " + reason);
+            }
+        }
+    }
+
+    /**
+     * 다른 집계(배치 단위 결과)를 합침
+     */
+    public void merge(IngestionReport other) {
+        successCount.addAndGet(other.getSuccessCount());
+        failureCount.addAndGet(other.getFailureCount());
+        List<String> otherErrors = other.getErrors();
+        synchronized (errors) {
+            for (String error : otherErrors) {
+                if (errors.size() >= maxErrors) break;
+                errors.add(error);
+            }
+        }
+    }
+
+    public IngestionCheckpoint checkpoint(long committedRow) {
+        return new IngestionCheckpoint(committedRow, getSuccessCount(), getFailureCount(), getErrors());
+    }
+
+    public int getSuccessCount() {
+        return successCount.get();
+    }
+
+    public int getFailureCount() {
+        return failureCount.get();
+    }
+
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    public CsvUploadResponseDTO toResponse() {
+        return CsvUploadResponseDTO.builder()
+                .successCount(getSuccessCount())
+                .failureCount(getFailureCount())
+                .errors(getErrors())
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.bangkoo.back.service.product;
+
+import com.bangkoo.back.dto.product.ProductsRequestDTO;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * 제품 CSV 스트리밍 리더
+ *
+ * - readAll() 없이 한 행씩 읽어서 DTO 로 변환 (파일 크기와 무관하게 메모리 일정)
+ * - 첫 줄은 헤더로 보고 건너뜀
+ * - 컬럼 순서: name, description, detail, price, link, imageUrl, model3dUrl, csv
+ * - 컬럼이 부족한 행은 null 로 반환 → 파이프라인에서 실패 행으로 기록
+ */
+public class ProductCsvReader implements Iterator<ProductsRequestDTO>, Closeable {
+
+    private static final int COLUMN_COUNT = 8;
+
+    private final CSVReader csvReader;
+    private final Iterator<String[]> rows;
+
+    public ProductCsvReader(InputStream in) {
+        this.csvReader = new CSVReaderBuilder(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))
+                .withSkipLines(1)
+                .build();
+        this.rows = csvReader.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return rows.hasNext();
+    }
+
+    @Override
+    public ProductsRequestDTO next() {
+        return toRequestDTO(rows.next());
+    }
+
+    @Override
+    public void close() throws IOException {
+        csvReader.close();
+    }
+
+    private ProductsRequestDTO toRequestDTO(String[] row) {
+        if (row == null || row.length < COLUMN_COUNT) return null;
+        return ProductsRequestDTO.builder()
+                .name(row[0])
+                .description(row[1])
+                .detail(row[2])
+                .price(row[3])
+                .link(row[4])
+                .imageUrl(row[5])
+                .model3dUrl(row[6])
+                .csv(row[7])
+                .build();
+    }
+}
@@ -0,0 +1,382 @@
+package com.bangkoo.back.service.product;
+
+import com.bangkoo.back.config.properites.IngestionProperties;
+import com.bangkoo.back.dto.product.ProductsRequestDTO;
+import com.bangkoo.back.model.product.Embedding;
+import com.bangkoo.back.model.product.Product;
+import com.bangkoo.back.service.embedding.EmbeddingService;
+import com.bangkoo.back.service.search.SearchResultCache;
+import com.bangkoo.back.service.search.SuggestionService;
+import com.bangkoo.back.service.search.VectorSearchService;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 제품 대량 등록 파이프라인
+ *
+ * 파싱 → 배치 단위 임베딩(이미지 목록 / 텍스트 목록 요청 각 1회) → 결합 → Mongo bulk insert
+ * - 배치는 ingestion.concurrency 개까지 동시에 처리
+ * - 대기 배치가 ingestion.max-pending-batches 를 넘으면 입력 읽기를 멈춤 (back-pressure)
+ * - 실패는 행 단위로 IngestionReport 에 기록하고 나머지 행은 계속 진행
+ * - 연속으로 끝난 구간까지를 진행 지점(IngestionCheckpoint)으로 알려 중단 후 재개 가능
+ */
+@Slf4j
+@Service
+public class ProductIngestionService {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final EmbeddingService embeddingService;
+    private final VectorSearchService vectorSearchService;
+    private final SearchResultCache searchResultCache;
+    private final SuggestionService suggestionService;
+    private final MongoTemplate mongoTemplate;
+    private final IngestionProperties properties;
+    private final ExecutorService executor;
+
+    public ProductIngestionService(EmbeddingService embeddingService,
+                                   VectorSearchService vectorSearchService,
+                                   SearchResultCache searchResultCache,
+                                   SuggestionService suggestionService,
+                                   MongoTemplate mongoTemplate,
+                                   IngestionProperties properties) {
+        this.embeddingService = embeddingService;
+        this.vectorSearchService = vectorSearchService;
+        this.searchResultCache = searchResultCache;
+        this.suggestionService = suggestionService;
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()), r -> {
+            Thread thread = new Thread(r, "product-ingest-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 제품 목록 등록
+     *
+     * @param rows 입력 행 (하나씩 읽으면서 처리하므로 전체를 메모리에 올리지 않아도 됨)
+     * @return 성공/실패 집계
+     */
+    public IngestionReport ingest(Iterator<ProductsRequestDTO> rows) {
+        return ingest(rows, IngestionCheckpoint.START, null, IngestionListener.NONE);
+    }
+
+    /**
+     * 제품 목록 등록 (재개 가능)
+     *
+     * @param rows       입력 행 (1행부터 다시 읽음, resumeFrom.committedRow 까지는 건너뜀)
+     * @param resumeFrom 이전 진행 지점 (처음이면 IngestionCheckpoint.START)
+     * @param idSeed     제품 ID 생성 기준 (예: 작업 ID). 지정하면 같은 행은 항상 같은 ID 로 저장되어
+     *                   재개 시 진행 지점 이후에 이미 저장된 행이 중복 저장되지 않음. null 이면 자동 ID
+     * @param listener   진행 지점 갱신 알림
+     * @return 전체 성공/실패 집계 (이전 진행분 포함)
+     */
+    public IngestionReport ingest(Iterator<ProductsRequestDTO> rows, IngestionCheckpoint resumeFrom,
+                                  String idSeed, IngestionListener listener) {
+        IngestionReport committed = IngestionReport.from(resumeFrom, properties.getMaxReportedErrors());
+        CommitTracker tracker = new CommitTracker(resumeFrom.committedRow(), committed, listener);
+        Semaphore pending = new Semaphore(Math.max(1, properties.getMaxPendingBatches()));
+        List<Future<?>> futures = new ArrayList<>();
+        int batchSize = Math.max(1, properties.getBatchSize());
+
+        long rowNumber = 0;
+        Batch batch = new Batch(resumeFrom.committedRow() + 1, batchSize, properties.getMaxReportedErrors());
+        try {
+            while (rows.hasNext()) {
+                if (listener.isStopRequested()) {
+                    log.info("제품 등록 중단 요청 - {}행까지 읽음, 진행 중인 배치만 마무리", rowNumber);
+                    batch = null;
+                    break;
+                }
+                ProductsRequestDTO dto = rows.next();
+                rowNumber++;
+                if (rowNumber <= resumeFrom.committedRow()) continue;
+
+                String invalid = validate(dto);
+                if (invalid != null) {
+                    batch.report.failure(rowNumber, dto != null ? dto.getName() : null, invalid);
+                    continue;
+                }
+
+                batch.rows.add(new IngestionRow(rowNumber, dto));
+                if (batch.rows.size() >= batchSize) {
+                    batch.lastRow = rowNumber;
+                    futures.add(submit(batch, idSeed, pending, tracker));
+                    batch = new Batch(rowNumber + 1, batchSize, properties.getMaxReportedErrors());
+                }
+            }
+            // 마지막 배치 (유효 행 없이 실패 행만 있어도 진행 지점을 끝까지 옮기기 위해 제출)
+            if (batch != null && batch.firstRow <= rowNumber) {
+                batch.lastRow = rowNumber;
+                futures.add(submit(batch, idSeed, pending, tracker));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("제품 등록이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("제품 등록 중 오류 발생: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            if (committed.getSuccessCount() > resumeFrom.successCount()) {
+                vectorSearchService.invalidate();
+                searchResultCache.invalidateAll();
+                suggestionService.refresh();
+            }
+        }
+
+        log.info("제품 대량 등록 완료 - 전체: {}, 성공: {}, 실패: {}",
+                rowNumber, committed.getSuccessCount(), committed.getFailureCount());
+        return committed;
+    }
+
+    /**
+     * 배치 제출 (대기 배치가 가득 차면 여기서 블록)
+     */
+    private Future<?> submit(Batch batch, String idSeed, Semaphore pending, CommitTracker tracker)
+            throws InterruptedException {
+        pending.acquire();
+        try {
+            return executor.submit(() -> {
+                try {
+                    if (!batch.rows.isEmpty()) {
+                        processBatch(batch.rows, idSeed, batch.report);
+                    }
+                    tracker.complete(batch);
+                } finally {
+                    pending.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            pending.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 한 배치 처리: 임베딩 생성 → 결합 → bulk insert
+     */
+    private void processBatch(List<IngestionRow> batch, String idSeed, IngestionReport report) {
+        List<Embedding> imageEmbeddings;
+        try {
+            imageEmbeddings = embeddingService.generateImageEmbeddings(
+                    batch.stream().map(row -> row.dto().getImageUrl()).toList());
+        } catch (Exception e) {
+            log.warn("이미지 임베딩 배치 요청 실패 - {}행부터 {}건: {}", batch.get(0).rowNumber(), batch.size(), e.getMessage());
+            batch.forEach(row -> report.failure(row.rowNumber(), row.dto().getName(), "이미지 임베딩 실패: " + e.getMessage()));
+            return;
+        }
+
+        List<Embedding> textEmbeddings;
+        try {
+            textEmbeddings = embeddingService.generateTextEmbeddings(
+                    batch.stream().map(row -> row.dto().getDescription()).toList());
+        } catch (Exception e) {
+            log.warn("텍스트 임베딩 배치 요청 실패 - {}행부터 {}건: {}", batch.get(0).rowNumber(), batch.size(), e.getMessage());
+            batch.forEach(row -> report.failure(row.rowNumber(), row.dto().getName(), "텍스트 임베딩 실패: " + e.getMessage()));
+            return;
+        }
+
+        List<IngestionRow> accepted = new ArrayList<>(batch.size());
+        List<Product> products = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            IngestionRow row = batch.get(i);
+            Embedding imageEmbedding = i < imageEmbeddings.size() ? imageEmbeddings.get(i) : null;
+            if (imageEmbedding == null || imageEmbedding.isEmpty()) {
+                report.failure(row.rowNumber(), row.dto().getName(), "이미지 임베딩 실패");
+                continue;
+            }
+            Embedding textEmbedding = i < textEmbeddings.size() ? textEmbeddings.get(i) : null;
+            if (textEmbedding == null || textEmbedding.isEmpty()) {
+                report.failure(row.rowNumber(), row.dto().getName(), "텍스트 임베딩 실패");
+                continue;
+            }
+
+            Product product = toProduct(row.dto());
+            if (product.getId() == null && idSeed != null) {
+                product.setId(productId(idSeed, row.rowNumber()));
+            }
+            product.setImageEmbedding(imageEmbedding);
+            product.setTextEmbedding(textEmbedding);
+            product.setCombinedEmbedding(Embedding.average(imageEmbedding, textEmbedding));
+            accepted.add(row);
+            products.add(product);
+        }
+
+        if (!products.isEmpty()) {
+            insertAll(accepted, products, report);
+        }
+    }
+
+    /**
+     * 순서 무관(unordered) bulk 저장
+     * - ID 를 지정한 행은 같은 ID 문서를 교체(없으면 추가), 나머지는 insert
+     * - 일부 문서가 실패해도 나머지는 저장되고, 실패한 문서만 행 단위로 기록
+     */
+    private void insertAll(List<IngestionRow> rows, List<Product> products, IngestionReport report) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            if (hasText(rows.get(i).dto().getId())) {
+                bulk.replaceOne(Query.query(Criteria.where("_id").is(product.getId())), product,
+                        FindAndReplaceOptions.options().upsert());
+            } else {
+                bulk.insert(product);
+            }
+        }
+
+        try {
+            bulk.execute();
+            report.success(products.size());
+        } catch (BulkOperationException e) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() == DUPLICATE_KEY) continue; // 재개 시 이전 실행에서 이미 저장된 행
+                failed.add(error.getIndex());
+                IngestionRow row = rows.get(error.getIndex());
+                report.failure(row.rowNumber(), row.dto().getName(), "저장 실패: " + error.getMessage());
+            }
+            report.success(products.size() - failed.size());
+            log.warn("bulk insert 일부 실패 - {}건 중 {}건", products.size(), failed.size());
+        } catch (Exception e) {
+            rows.forEach(row -> report.failure(row.rowNumber(), row.dto().getName(), "저장 실패: " + e.getMessage()));
+            log.error("bulk insert 실패 - {}건", products.size(), e);
+        }
+    }
+
+    private String validate(ProductsRequestDTO dto) {
+        if (dto == null) return "빈 행입니다.";
+        if (dto.getName() == null || dto.getName().isBlank()) return "제품명은 필수입니다.";
+        if (dto.getImageUrl() == null || dto.getImageUrl().isBlank()) return "이미지 URL은 필수입니다.";
+        return null;
+    }
+
+    private Product toProduct(ProductsRequestDTO dto) {
+        LocalDateTime now = LocalDateTime.now();
+        return Product.builder()
+                .id(hasText(dto.getId()) ? dto.getId() : null)
+                .name(dto.getName())
+                .description(dto.getDescription())
+                .detail(dto.getDetail())
+                .price(dto.getPrice())
+                .link(dto.getLink())
+                .imageUrl(dto.getImageUrl())
+                .model3dUrl(dto.getModel3dUrl())
+                .csv(dto.getCsv())
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * 행 번호 기반 고정 제품 ID (ObjectId 형식)
+     * - 앞 4바이트: idSeed 가 ObjectId 면 그 생성 시각, 아니면 0
+     * - 뒤 8바이트: SHA-256(idSeed:rowNumber)
+     */
+    static String productId(String idSeed, long rowNumber) {
+        int timestamp = ObjectId.isValid(idSeed) ? new ObjectId(idSeed).getTimestamp() : 0;
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest((idSeed + ":" + rowNumber).getBytes(StandardCharsets.UTF_8));
+            return new ObjectId(ByteBuffer.allocate(12).putInt(timestamp).put(hash, 0, 8).array()).toHexString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record IngestionRow(long rowNumber, ProductsRequestDTO dto) {
+    }
+
+    /**
+     * 입력 행 구간 [firstRow, lastRow] 하나
+     * - rows: 구간 내 유효 행, report: 구간 내 검증 실패 + 처리 결과
+     */
+    private static final class Batch {
+        private final long firstRow;
+        private long lastRow;
+        private final List<IngestionRow> rows;
+        private final IngestionReport report;
+
+        private Batch(long firstRow, int capacity, int maxErrors) {
+            this.firstRow = firstRow;
+            this.rows = new ArrayList<>(capacity);
+            this.report = new IngestionReport(maxErrors);
+        }
+    }
+
+    /**
+     * 순서 없이 끝나는 배치들을 모아 연속 구간만 확정
+     * - 예: 1~100, 201~300 완료 / 101~200 진행 중 → 진행 지점은 100
+     */
+    private static final class CommitTracker {
+        private final TreeMap<Long, Batch> completed = new TreeMap<>();
+        private final IngestionReport committed;
+        private final IngestionListener listener;
+        private long committedRow;
+
+        private CommitTracker(long committedRow, IngestionReport committed, IngestionListener listener) {
+            this.committedRow = committedRow;
+            this.committed = committed;
+            this.listener = listener;
+        }
+
+        private synchronized void complete(Batch batch) {
+            completed.put(batch.firstRow, batch);
+
+            boolean advanced = false;
+            Batch next;
+            while ((next = completed.remove(committedRow + 1)) != null) {
+                committed.merge(next.report);
+                committedRow = next.lastRow;
+                advanced = true;
+            }
+            if (advanced) {
+                listener.onCheckpoint(committed.checkpoint(committedRow));
+            }
+        }
+    }
+}
@@ -1,30 +1,32 @@
 package com.bangkoo.back.service.product;
 
-import com.bangkoo.back.dto.product.ProductsRequestDTO;
 import com.bangkoo.back.dto.product.ProductsResponseDTO;
+import com.bangkoo.back.model.product.Embedding;
 import com.bangkoo.back.model.product.Product;
 import com.bangkoo.back.repository.product.ProductRepository;
 import com.bangkoo.back.service.embedding.EmbeddingService;
-import com.opencsv.CSVReader;
-import com.opencsv.CSVReaderBuilder;
+import com.bangkoo.back.service.search.SearchResultCache;
+import com.bangkoo.back.service.search.SuggestionService;
+import com.bangkoo.back.service.search.VectorSearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +36,10 @@ import java.util.Optional;
 public class ProductService {
 
     private final EmbeddingService embeddingService;            //임베딩 서비스 추가
+    private final VectorSearchService vectorSearchService;      //벡터 인덱스 갱신용
+    private final SearchResultCache searchResultCache;          //검색 결과 캐시 무효화용
+    private final SuggestionService suggestionService;          //자동완성 색인 갱신용
+    private final MongoTemplate mongoTemplate;                  //키워드 텍스트 검색용
     private static final Logger logger = LoggerFactory.getLogger(ProductService.class);  // Logger 객체 추가
 
     @Autowired
@@ -50,9 +56,9 @@ public class ProductService {
             throw new IllegalArgumentException("제품명과 이미지 URL은 필수입니다.");
         }
 
-        List<Double> imageEmbedding = embeddingService.generateImageEmbedding(product.getImageUrl());
-        List<Double> textEmbedding = embeddingService.generateTextEmbedding(product.getDescription());
-        List<Double> combined = combineEmbeddings(imageEmbedding, textEmbedding); // ✅ 추가
+        Embedding imageEmbedding = embeddingService.generateImageEmbedding(product.getImageUrl());
+        Embedding textEmbedding = embeddingService.generateTextEmbedding(product.getDescription());
+        Embedding combined = combineEmbeddings(imageEmbedding, textEmbedding); // ✅ 추가
 
         product.setImageEmbedding(imageEmbedding);
         product.setTextEmbedding(textEmbedding);
@@ -61,65 +67,13 @@ public class ProductService {
         product.setCreatedAt(LocalDateTime.now());
         logger.info("새로운 제품 저장: {}", product.getName());
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        vectorSearchService.invalidate();
+        searchResultCache.invalidateAll();
+        suggestionService.onProductSaved(saved);
+        return saved;
     }
 
-    /**
-     * CSV파일을 저장
-     */
-    public List<Product> saveProductsFromJson(List<ProductsRequestDTO> productsDtoList) {
-        List<Product> savedProducts = new ArrayList<>();
-
-        // 🔹 Step 1: 모든 이미지 URL 추출
-        List<String> imageUrls = productsDtoList.stream()
-                .map(ProductsRequestDTO::getImageUrl)
-                .toList();
-
-        // 🔹 Step 2: 이미지 임베딩 한 번에 요청
-        List<List<Double>> imageEmbeddings = embeddingService.generateImageEmbeddings(imageUrls);
-
-        for (int i = 0; i < productsDtoList.size(); i++) {
-            ProductsRequestDTO dto = productsDtoList.get(i);
-            try {
-                Product product = Product.builder()
-                        .name(dto.getName())
-                        .description(dto.getDescription())
-                        .detail(dto.getDetail())
-                        .price(dto.getPrice())
-                        .link(dto.getLink())
-                        .imageUrl(dto.getImageUrl())
-                        .model3dUrl(dto.getModel3dUrl())
-                        .csv(dto.getCsv())
-                        .createdAt(LocalDateTime.now())
-                        .updatedAt(LocalDateTime.now())
-                        .build();
-
-                // 🔹 이미지 임베딩
-                List<Double> imageEmbedding = imageEmbeddings.get(i);
-                if (imageEmbedding == null || imageEmbedding.isEmpty()) {
-                    logger.warn("이미지 임베딩 실패 - 제품명: {}", dto.getName());
-                    continue; // skip 저장
-                }
-
-                // 🔹 텍스트 임베딩 및 결합
-                List<Double> textEmbedding = embeddingService.generateTextEmbedding(product.getDescription());
-                List<Double> combined = combineEmbeddings(imageEmbedding, textEmbedding);
-
-                product.setImageEmbedding(imageEmbedding);
-                product.setTextEmbedding(textEmbedding);
-                product.setCombinedEmbedding(combined);
-
-                savedProducts.add(productRepository.save(product));
-            } catch (Exception e) {
-                logger.warn("임베딩 또는 저장 실패 - 제품명: {}, 오류: {}", dto.getName(), e.getMessage());
-            }
-        }
-
-        return savedProducts;
-    }
-
-
-
     /**
      * 기존 제품을 수정합니다. 해당 ID로 제품을 찾고, 값들을 업데이트한 후 저장합니다.
      * @param id 수정할 제품의 ID
@@ -141,7 +95,11 @@ public class ProductService {
 
 
             logger.info("제품 수정: {}", product.getName());  // 로그 출력
-            return productRepository.save(product);
+            Product saved = productRepository.save(product);
+            vectorSearchService.invalidate();
+            searchResultCache.invalidateAll();
+            suggestionService.onProductSaved(saved);
+            return saved;
         } else {
             logger.error("제품을 찾지 못 했습니다. ID: {}", id);  // 로그 출력
             throw new RuntimeException("제품을 찾지 못 했습니다.");
@@ -159,6 +117,9 @@ public class ProductService {
         }
         logger.info("제품 삭제: ID {}", id);  // 로그 출력
         productRepository.deleteById(id);
+        vectorSearchService.invalidate();
+        searchResultCache.invalidateAll();
+        suggestionService.onProductDeleted(id);
     }
 
     /**
@@ -169,7 +130,7 @@ public class ProductService {
      */
     public Page<Product> findAll(int page, int size){
         Pageable pageable = PageRequest.of(page, size);
-        Page<Product> result = productRepository.findAll(pageable);
+        Page<Product> result = productRepository.findAllWithoutEmbeddings(pageable);
         return result;
     }
 
@@ -191,7 +152,7 @@ public class ProductService {
      * DTO로 변환해서 리스트로 만들기
      */
     public List<ProductsResponseDTO> getAllProducts() {
-        List<Product> products = productRepository.findAll();
+        List<Product> products = productRepository.findAllWithoutEmbeddings();
         return products.stream().map(product -> {
             ProductsResponseDTO dto = new ProductsResponseDTO();
             dto.setId(product.getId());
@@ -205,7 +166,8 @@ public class ProductService {
     }
 
     /**
-     * 검색 관련
+     * 검색 관련 (부분 일치)
+     * - name / description / id 에 검색어가 포함된 제품 (기존 동작, 정규식이라 컬렉션 전체를 훑음)
 
      * @param page 페이지 번호
      * @param size 페이지당 데이터 개수
@@ -216,71 +178,38 @@ public class ProductService {
         PageRequest pageable = PageRequest.of(page, size);
 
         // ProductRepository의 searchByKeyword 호출
-        return productRepository.searchByKeyword(search, pageable);
+        return productRepository.searchByKeyword(Pattern.quote(search), pageable);
 
     }
 
     /**
-     * CSV 업로드 및 저장 기능
-     */
-
-    public List<Product> saveProductFromCSV(MultipartFile file) throws Exception {
-        List<Product> savedProducts = new ArrayList<>();
-
-        try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-            CSVReader csvReader = new CSVReaderBuilder(reader).withSkipLines(1).build(); // 헤더 스킵
-            List<String[]> rows = csvReader.readAll();
-
-            for (String[] row : rows) {
-                if (row.length < 8) continue;
+     * 검색 관련 (단어 검색)
+     * - 검색어가 제품 ID 와 정확히 같으면 그 제품 하나 (ID 는 텍스트 인덱스에 없으므로 먼저 확인)
+     * - 아니면 name / description 텍스트 인덱스로 단어 단위 검색 (관련도 순, 단어 일부만 입력하면 결과 없음)
+     * - 전체 개수는 마지막 페이지가 아닐 때만 따로 셈 (한 페이지에 다 들어오면 텍스트 검색 1회)
 
-                Product product = Product.builder()
-                        .name(row[0])
-                        .description(row[1])
-                        .detail(row[2])
-                        .price(row[3])
-                        .link(row[4])
-                        .imageUrl(row[5])
-                        .model3dUrl(row[6])
-                        .csv(row[7])
-                        .createdAt(LocalDateTime.now())
-                        .updatedAt(LocalDateTime.now())
-                        .build();
-
-                try {
-                    List<Double> imageEmbedding = embeddingService.generateImageEmbedding(product.getImageUrl());
-                    List<Double> textEmbedding = embeddingService.generateTextEmbedding(product.getDescription());
-                    List<Double> combined = combineEmbeddings(imageEmbedding, textEmbedding);
-
-                    product.setImageEmbedding(imageEmbedding);
-                    product.setTextEmbedding(textEmbedding);
-                    product.setCombinedEmbedding(combined);
-                } catch (Exception e) {
-                    logger.warn("임베딩 실패 - 제품명: {}", product.getName());
-                }
-
-                savedProducts.add(productRepository.save(product));
-            }
+     * @param page 페이지 번호
+     * @param size 페이지당 데이터 개수
+     * @return 검색된 제품 리스트 (페이징 적용)
+     */
+    public Page<Product> searchByText(String search, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
 
-        } catch (Exception e) {
-            logger.error("CSV 처리 중 오류 발생", e);
-            throw new Exception("CSV 처리 중 오류 발생: " + e.getMessage());
+        Optional<Product> exact = productRepository.findByIdWithoutEmbeddings(search.trim());
+        if (exact.isPresent()) {
+            return new PageImpl<>(page == 0 ? List.of(exact.get()) : List.of(), pageable, 1);
         }
 
-        return savedProducts;
+        TextCriteria criteria = TextCriteria.forDefaultLanguage().matching(search);
+        Query query = TextQuery.queryText(criteria).sortByScore().with(pageable);
+        query.fields().exclude("imageEmbedding", "textEmbedding", "combinedEmbedding");
+        List<Product> content = mongoTemplate.find(query, Product.class);
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(TextQuery.queryText(criteria), Product.class));
     }
 
     // ✅ 이미지/텍스트 임베딩 결합 메서드
-    public List<Double> combineEmbeddings(List<Double> image, List<Double> text) {
-        List<Double> combined = new ArrayList<>();
-        for (int i = 0; i < Math.min(image.size(), text.size()); i++) {
-            combined.add((image.get(i) + text.get(i)) / 2.0);
-        }
-        return combined;
-    }
-
-    //다수의 상품 관련
-    public List<Product> saveAll(List<Product> products) {
-        return productRepository.saveAll(products);
+    public Embedding combineEmbeddings(Embedding image, Embedding text) {
+        return Embedding.average(image, text);
     }
 }
\ No newline at end of file
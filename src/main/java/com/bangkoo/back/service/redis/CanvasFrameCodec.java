@@ -0,0 +1,191 @@
+package com.bangkoo.back.service.redis;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 캔버스 히스토리 프레임 인코딩
+ *
+ * 프레임 = 상태 하나를 Redis 에 저장하는 바이트열
+ * <pre>
+ * [0]      종류  'K' 키프레임(전체 상태) / 'D' 델타(바로 아래 프레임 상태 대비 변경분)
+ * [1]      플래그 bit0 = base64 디코딩된 상태, bit1 = 본문 deflate 압축
+ * [2..5]   상태 바이트 길이 (int)
+ * [6..7]   data URL 머리말 길이 (short) + 머리말 UTF-8
+ * 본문     K: 상태 바이트
+ *          D: 앞쪽 공통 길이(int) + 뒤쪽 공통 길이(int) + 가운데 바뀐 바이트
+ *          (본문은 압축해서 작아질 때만 압축)
+ * </pre>
+ * - 델타가 키프레임 본문의 절반보다 크면 키프레임으로 저장 (PNG 처럼 조금만 바뀌어도 전체가 달라지는 형식)
+ */
+public class CanvasFrameCodec {
+
+    public static final byte KEYFRAME = 'K';
+    public static final byte DELTA = 'D';
+
+    private static final int FLAG_BASE64 = 1;
+    private static final int FLAG_DEFLATED = 1 << 1;
+
+    private final int compressionLevel;
+
+    public CanvasFrameCodec(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * 상태 → 프레임
+     *
+     * @param state     저장할 상태
+     * @param base      바로 아래 프레임의 상태 (null 이면 키프레임)
+     * @return 인코딩된 프레임 (첫 바이트로 종류 확인)
+     */
+    public byte[] encode(CanvasState state, CanvasState base) {
+        byte[] keyframe = frame(KEYFRAME, state, state.data());
+        if (base == null) return keyframe;
+
+        byte[] current = state.data();
+        byte[] previous = base.data();
+        int limit = Math.min(current.length, previous.length);
+        int head = 0;
+        while (head < limit && current[head] == previous[head]) head++;
+        int tail = 0;
+        while (tail < limit - head && current[current.length - 1 - tail] == previous[previous.length - 1 - tail]) tail++;
+
+        ByteBuffer body = ByteBuffer.allocate(8 + current.length - head - tail);
+        body.putInt(head).putInt(tail).put(current, head, current.length - head - tail);
+        byte[] delta = frame(DELTA, state, body.array());
+        return delta.length * 2 < keyframe.length ? delta : keyframe;
+    }
+
+    /**
+     * 프레임 목록 → 가장 위(첫 번째) 프레임의 상태
+     *
+     * @param frames 위에서부터 아래로, 마지막 항목이 키프레임이어야 함
+     */
+    public CanvasState decode(List<byte[]> frames) {
+        if (frames.isEmpty()) return null;
+        byte[] last = frames.get(frames.size() - 1);
+        if (last.length == 0 || kind(last) != KEYFRAME) {
+            throw new IllegalStateException("복원할 키프레임이 없습니다.");
+        }
+
+        CanvasState state = null;
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            state = apply(frames.get(i), state);
+        }
+        return state;
+    }
+
+    public static byte kind(byte[] frame) {
+        return frame[0];
+    }
+
+    /**
+     * 프레임 하나를 기준 상태에 적용 (잘리거나 길이가 맞지 않는 프레임은 IllegalStateException)
+     */
+    private CanvasState apply(byte[] frame, CanvasState base) {
+        try {
+            return read(frame, base);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IllegalStateException("손상된 캔버스 프레임입니다.", e);
+        }
+    }
+
+    private CanvasState read(byte[] frame, CanvasState base) {
+        ByteBuffer in = ByteBuffer.wrap(frame);
+        byte kind = in.get();
+        if (kind != KEYFRAME && kind != DELTA) throw new IllegalStateException("손상된 캔버스 프레임입니다.");
+        int flags = in.get();
+        int length = in.getInt();
+        byte[] prefixBytes = new byte[in.getShort()];
+        in.get(prefixBytes);
+        byte[] body = new byte[in.remaining()];
+        in.get(body);
+        if ((flags & FLAG_DEFLATED) != 0) body = inflate(body);
+        if (kind == KEYFRAME && body.length != length) throw new IllegalStateException("손상된 캔버스 프레임입니다.");
+
+        byte[] data;
+        if (kind == KEYFRAME) {
+            data = body;
+        } else {
+            if (base == null) throw new IllegalStateException("델타 프레임의 기준 상태가 없습니다.");
+            ByteBuffer delta = ByteBuffer.wrap(body);
+            int head = delta.getInt();
+            int tail = delta.getInt();
+            byte[] previous = base.data();
+            if (head < 0 || tail < 0 || head + tail > length || head + tail > previous.length
+                    || delta.remaining() != length - head - tail) {
+                throw new IllegalStateException("손상된 캔버스 프레임입니다.");
+            }
+            data = new byte[length];
+            System.arraycopy(previous, 0, data, 0, head);
+            delta.get(data, head, length - head - tail);
+            System.arraycopy(previous, previous.length - tail, data, length - tail, tail);
+        }
+        return new CanvasState(new String(prefixBytes, StandardCharsets.UTF_8), (flags & FLAG_BASE64) != 0, data);
+    }
+
+    private byte[] frame(byte kind, CanvasState state, byte[] body) {
+        byte[] compressed = deflate(body);
+        boolean deflated = compressed != null;
+        byte[] payload = deflated ? compressed : body;
+        byte[] prefix = state.prefix().getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer out = ByteBuffer.allocate(8 + prefix.length + payload.length);
+        out.put(kind)
+                .put((byte) ((state.base64() ? FLAG_BASE64 : 0) | (deflated ? FLAG_DEFLATED : 0)))
+                .putInt(state.data().length)
+                .putShort((short) prefix.length)
+                .put(prefix)
+                .put(payload);
+        return out.array();
+    }
+
+    /**
+     * 압축해서 작아질 때만 압축 결과 반환 (아니면 null)
+     */
+    private byte[] deflate(byte[] body) {
+        if (compressionLevel <= 0 || body.length < 64) return null;
+        Deflater deflater = new Deflater(compressionLevel);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+                if (out.size() >= body.length) return null;
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] body) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(body);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length * 2);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("손상된 캔버스 프레임입니다.");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("손상된 캔버스 프레임입니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
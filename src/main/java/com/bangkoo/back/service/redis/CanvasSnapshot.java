@@ -0,0 +1,18 @@
+package com.bangkoo.back.service.redis;
+
+/**
+ * 캔버스 상태 조회 결과
+ *
+ * @param token 상태 토큰 (상태가 바뀔 때마다 새로 발급, HTTP ETag 로 사용)
+ * @param state 상태 (클라이언트가 이미 같은 토큰의 상태를 가지고 있으면 null)
+ */
+public record CanvasSnapshot(String token, CanvasState state) {
+
+    public static CanvasSnapshot notModified(String token) {
+        return new CanvasSnapshot(token, null);
+    }
+
+    public boolean isNotModified() {
+        return state == null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.bangkoo.back.service.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 캔버스 상태 (프론트가 보낸 문자열을 원본 바이트로 풀어 둔 형태)
+ *
+ * - "data:image/png;base64,AAAA" → prefix = "data:image/png;base64,", data = 디코딩한 이미지 바이트
+ * - base64 가 아니거나 다시 인코딩했을 때 원문과 달라지는 입력은 UTF-8 문자열 그대로 보관 (base64 = false)
+ * - toText() 는 항상 받은 문자열과 똑같은 값을 돌려줌
+ *
+ * @param prefix data URL 머리말 (없으면 빈 문자열)
+ * @param base64 data 가 base64 디코딩 결과인지 여부
+ * @param data   상태 바이트
+ */
+public record CanvasState(String prefix, boolean base64, byte[] data) {
+
+    private static final String OCTET_STREAM = "application/octet-stream";
+
+    public static CanvasState fromText(String text) {
+        String prefix = "";
+        String body = text;
+        if (text.startsWith("data:")) {
+            int comma = text.indexOf(',');
+            if (comma > 0) {
+                prefix = text.substring(0, comma + 1);
+                body = text.substring(comma + 1);
+            }
+        }
+        try {
+            byte[] decoded = Base64.getDecoder().decode(body);
+            if (Base64.getEncoder().encodeToString(decoded).equals(body)) {
+                return new CanvasState(prefix, true, decoded);
+            }
+        } catch (IllegalArgumentException e) {
+            // base64 가 아니면 문자열 그대로 보관
+        }
+        return new CanvasState("", false, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 바이너리 업로드 → 상태 (텍스트 API 로 조회하면 data URL 로 돌려줌)
+     *
+     * @param mediaType 업로드 Content-Type (없거나 application/octet-stream 이면 머리말 없이 base64 로 조회됨)
+     */
+    public static CanvasState fromBinary(byte[] data, String mediaType) {
+        boolean typed = mediaType != null && !mediaType.isBlank() && !OCTET_STREAM.equals(mediaType);
+        return new CanvasState(typed ? "data:" + mediaType + ";base64," : "", true, data);
+    }
+
+    /**
+     * 바이너리 응답 Content-Type
+     * - data URL 머리말의 형식, 머리말이 없으면 application/octet-stream, base64 가 아닌 문자열 상태는 text/plain
+     */
+    public String mediaType() {
+        if (!base64) return "text/plain;charset=UTF-8";
+        if (prefix.startsWith("data:")) {
+            int end = prefix.indexOf(';');
+            if (end < 0) end = prefix.length() - 1;
+            if (end > "data:".length()) return prefix.substring("data:".length(), end);
+        }
+        return OCTET_STREAM;
+    }
+
+    public String toText() {
+        return base64 ? prefix + Base64.getEncoder().encodeToString(data) : new String(data, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,80 @@
+package com.bangkoo.back.service.redis;
+
+import com.bangkoo.back.config.properites.RedisClientProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Redis 파이프라인 도우미
+ *
+ * - 항목마다 명령을 만들어 응답을 기다리지 않고 연달아 보낸 뒤 결과를 한 번에 받음 (묶음당 왕복 1회)
+ * - 항목이 많으면 redis.client.pipeline-batch-size 개씩 나눠 전송 (한 번에 너무 큰 응답 버퍼가 쌓이지 않도록)
+ * - 지표: redis.pipeline{name} (묶음 전송 시간), redis.pipeline.items{name} (처리 항목 수)
+ */
+@Component
+public class RedisPipelineExecutor {
+
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+
+    public RedisPipelineExecutor(MeterRegistry meterRegistry, RedisClientProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.batchSize = Math.max(1, properties.getPipelineBatchSize());
+    }
+
+    /**
+     * 파이프라인 실행
+     *
+     * @param name     지표 이름 태그 (호출 위치 구분)
+     * @param template 사용할 템플릿 (결과는 이 템플릿의 직렬화 설정으로 변환)
+     * @param items    처리할 항목
+     * @param command  항목 하나에 대한 명령 (operations 로 호출, 반환값은 파이프라인 중이라 항상 null)
+     * @return 보낸 명령 순서대로의 결과
+     */
+    public <K, V, E> List<Object> execute(String name, RedisTemplate<K, V> template, Collection<E> items,
+                                          BiConsumer<RedisOperations<K, V>, E> command) {
+        if (items.isEmpty()) return List.of();
+
+        Timer timer = Timer.builder("redis.pipeline")
+                .description("Redis 파이프라인 묶음 전송 시간")
+                .tag("name", name)
+                .register(meterRegistry);
+        Counter counter = Counter.builder("redis.pipeline.items")
+                .tag("name", name)
+                .register(meterRegistry);
+
+        List<Object> results = new ArrayList<>();
+        Iterator<E> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            List<E> chunk = new ArrayList<>(Math.min(batchSize, items.size()));
+            while (iterator.hasNext() && chunk.size() < batchSize) {
+                chunk.add(iterator.next());
+            }
+            List<Object> chunkResults = timer.record(() -> template.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <KK, VV> Object execute(RedisOperations<KK, VV> operations) {
+                    RedisOperations<K, V> typed = (RedisOperations<K, V>) operations;
+                    for (E item : chunk) {
+                        command.accept(typed, item);
+                    }
+                    return null;
+                }
+            }));
+            counter.increment(chunk.size());
+            if (chunkResults != null) results.addAll(chunkResults);
+        }
+        return results;
+    }
+}
@@ -1,9 +1,18 @@
 package com.bangkoo.back.service.redis;
 
-import lombok.RequiredArgsConstructor;
+import com.bangkoo.back.config.properites.CanvasHistoryProperties;
+import com.bangkoo.back.config.properites.RedisClientProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * ✅ RedisService
  * - 작성자: 김태원
@@ -12,25 +21,182 @@ import org.springframework.stereotype.Service;
  * 🧠 Redis를 활용한 사용자별 인테리어 상태 히스토리 저장 로직
  * - 상태 push/undo/redo 기능 구현
  * - undo/redo 스택을 Redis 리스트로 관리
+ *
+ * 📦 저장 형식 (CanvasFrameCodec)
+ * - base64 문자열 대신 원본 바이트를 압축해 저장
+ * - 직전 상태 대비 바뀐 구간만 델타로 저장하고, keyframeInterval 마다 전체 상태(키프레임) 저장
+ * - canvas:undo / canvas:redo 는 프레임 목록, canvas:*:kind 는 같은 순서의 종류('K'/'D') 목록
+ *   (복원·잘라내기 때 큰 프레임을 읽지 않고 키프레임 위치를 찾기 위함)
+ * - undo 스택은 maxDepth 개까지 (키프레임 경계에서 잘라냄), 모든 키는 idleTtl 동안 변경이 없으면 만료
+ * - 이전 형식 키(undo:* / redo:*, 만료 없음)는 CanvasHistoryKeyMigration 이 기동 시 만료 설정
+ *
+ * ⚡ 동시성
+ * - push / undo / redo / 조회는 각각 Lua 스크립트 한 번 (왕복 1회, 원자적)
+ * - canvas:head 에 상태가 바뀔 때마다 새 토큰 저장
+ *   델타는 "내가 아는 현재 상태(토큰)" 기준으로 만든 뒤, 스크립트가 토큰이 같을 때만 저장
+ *   (다른 탭·서버가 먼저 바꿨으면 키프레임으로 다시 저장)
+ * - 델타 기준 상태는 JVM 내 캐시(heads)에 보관해 push 전에 Redis 를 읽지 않음
  */
 
 @Service
-@RequiredArgsConstructor
 public class RedisService {
 
-    private final RedisTemplate<String, String> redisTemplate;
+    /**
+     * top 부터 가장 가까운 키프레임까지의 프레임 목록
+     */
+    private static final String LUA_FUNCTIONS = """
+            local function top(limit)
+              local kinds = redis.call('LRANGE', KEYS[2], 0, limit - 1)
+              local depth = -1
+              for i = 1, #kinds do
+                if kinds[i] == 'K' then depth = i - 1; break end
+              end
+              if depth < 0 and #kinds == limit then
+                kinds = redis.call('LRANGE', KEYS[2], 0, -1)
+                for i = limit + 1, #kinds do
+                  if kinds[i] == 'K' then depth = i - 1; break end
+                end
+              end
+              if depth < 0 then return {} end
+              return redis.call('LRANGE', KEYS[1], 0, depth)
+            end
+            local function touch(ttl)
+              for i = 1, #KEYS do redis.call('EXPIRE', KEYS[i], ttl) end
+            end
+            local function reply(limit)
+              local frames = top(limit)
+              table.insert(frames, 1, redis.call('GET', KEYS[5]) or '')
+              return frames
+            end
+            """;
+
+    /**
+     * KEYS = undo, undoKind, redo, redoKind, head
+     * ARGV = 프레임, 종류, 기준 토큰, 새 토큰, maxDepth, keyframeInterval, ttl(초)
+     * 델타는 head 가 기준 토큰과 같을 때만 저장 (0 반환 시 저장 안 됨)
+     */
+    private static final RedisScript<Long> PUSH = new DefaultRedisScript<>(LUA_FUNCTIONS + """
+            if ARGV[2] == 'D' and redis.call('GET', KEYS[5]) ~= ARGV[3] then return 0 end
+            redis.call('LPUSH', KEYS[1], ARGV[1])
+            redis.call('LPUSH', KEYS[2], ARGV[2])
+            redis.call('DEL', KEYS[3], KEYS[4])
+            local max = tonumber(ARGV[5])
+            if redis.call('LLEN', KEYS[2]) > max then
+              local from = math.max(0, max - tonumber(ARGV[6]))
+              local kinds = redis.call('LRANGE', KEYS[2], from, max - 1)
+              for i = #kinds, 1, -1 do
+                if kinds[i] == 'K' then
+                  redis.call('LTRIM', KEYS[1], 0, from + i - 1)
+                  redis.call('LTRIM', KEYS[2], 0, from + i - 1)
+                  break
+                end
+              end
+            end
+            redis.call('SET', KEYS[5], ARGV[4])
+            touch(ARGV[7])
+            return 1
+            """, Long.class);
+
+    /**
+     * ARGV = 새 토큰, keyframeInterval, ttl(초)
+     * 반환: {토큰, 프레임...} / 되돌릴 상태가 없으면 빈 목록
+     */
+    private static final RedisScript<List> UNDO = new DefaultRedisScript<>(LUA_FUNCTIONS + """
+            if redis.call('LLEN', KEYS[2]) <= 1 then return {} end
+            redis.call('LPUSH', KEYS[3], redis.call('LPOP', KEYS[1]))
+            redis.call('LPUSH', KEYS[4], redis.call('LPOP', KEYS[2]))
+            redis.call('SET', KEYS[5], ARGV[1])
+            touch(ARGV[3])
+            return reply(tonumber(ARGV[2]))
+            """, List.class);
+
+    /**
+     * ARGV = 새 토큰, keyframeInterval, ttl(초)
+     * 반환: {토큰, 프레임...} (redo 할 항목이 없으면 현재 상태)
+     */
+    private static final RedisScript<List> REDO = new DefaultRedisScript<>(LUA_FUNCTIONS + """
+            if redis.call('LLEN', KEYS[4]) > 0 then
+              redis.call('LPUSH', KEYS[1], redis.call('LPOP', KEYS[3]))
+              redis.call('LPUSH', KEYS[2], redis.call('LPOP', KEYS[4]))
+              redis.call('SET', KEYS[5], ARGV[1])
+              touch(ARGV[3])
+            end
+            return reply(tonumber(ARGV[2]))
+            """, List.class);
+
+    /**
+     * ARGV = keyframeInterval, 클라이언트가 가진 토큰(If-None-Match, 없으면 빈 값)
+     * 반환: {토큰, 프레임...} / 토큰이 같으면 프레임 없이 {토큰}
+     */
+    private static final RedisScript<List> CURRENT = new DefaultRedisScript<>(LUA_FUNCTIONS + """
+            if ARGV[2] ~= '' and redis.call('GET', KEYS[5]) == ARGV[2] then return {ARGV[2]} end
+            return reply(tonumber(ARGV[1]))
+            """, List.class);
+
+    private static final byte[] KEYFRAME_KIND = {CanvasFrameCodec.KEYFRAME};
+    private static final byte[] DELTA_KIND = {CanvasFrameCodec.DELTA};
+    private static final byte[] ANY = new byte[0];
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final RedisTemplate<String, byte[]> replicaRedisTemplate;
+    private final boolean replicaReads;
+    private final CanvasHistoryProperties properties;
+    private final CanvasFrameCodec codec;
+    private final Cache<String, Head> heads;
+
+    public RedisService(RedisTemplate<String, byte[]> binaryRedisTemplate,
+                        RedisTemplate<String, byte[]> replicaBinaryRedisTemplate,
+                        CanvasHistoryProperties properties,
+                        RedisClientProperties clientProperties) {
+        this.redisTemplate = binaryRedisTemplate;
+        this.replicaRedisTemplate = replicaBinaryRedisTemplate;
+        this.replicaReads = clientProperties.isReplicaReads();
+        this.properties = properties;
+        this.codec = new CanvasFrameCodec(properties.getCompressionLevel());
+        this.heads = Caffeine.newBuilder()
+                .maximumWeight(properties.getLocalMaxBytes())
+                .weigher((String key, Head head) -> head.state().data().length)
+                .expireAfterAccess(properties.getIdleTtl())
+                .build();
+    }
 
     /**
      * 📌 상태 저장 (push)
-     * - undo 스택에 새 상태 push
+     * - undo 스택에 새 상태 push (가능하면 현재 상태 대비 델타)
      * - redo 스택은 초기화
      */
     public void pushState(String userId, String sessionId, String base64) {
-        String undoKey = getUndoKey(userId, sessionId);
-        String redoKey = getRedoKey(userId, sessionId);
+        pushState(userId, sessionId, CanvasState.fromText(base64));
+    }
+
+    /**
+     * 📌 상태 저장 (바이너리 업로드용 - base64 문자열을 거치지 않음)
+     *
+     * @return 저장된 상태의 토큰 (ETag)
+     */
+    public String pushState(String userId, String sessionId, CanvasState state) {
+        Keys keys = new Keys(userId, sessionId);
+        String token = newToken();
 
-        redisTemplate.opsForList().leftPush(undoKey, base64);
-        redisTemplate.delete(redoKey); // 새로 저장했으니 redo 초기화
+        Head head = properties.isDeltaEnabled() ? heads.getIfPresent(keys.undo) : null;
+        boolean delta = false;
+        byte[] frame;
+        if (head != null && head.run() + 1 < keyframeInterval()) {
+            frame = codec.encode(state, head.state());
+            delta = CanvasFrameCodec.kind(frame) == CanvasFrameCodec.DELTA;
+            if (delta && !push(keys, frame, DELTA_KIND, head.token(), token)) {
+                // 다른 요청이 먼저 상태를 바꿈 → 기준이 달라졌으니 키프레임으로 저장
+                delta = false;
+                frame = codec.encode(state, null);
+            }
+        } else {
+            frame = codec.encode(state, null);
+        }
+        if (!delta) {
+            push(keys, frame, KEYFRAME_KIND, null, token);
+        }
+        heads.put(keys.undo, new Head(token, state, delta ? head.run() + 1 : 0));
+        return token;
     }
 
     /**
@@ -39,18 +205,16 @@ public class RedisService {
      * - undo 스택의 다음 항목을 current로 반환
      */
     public String undo(String userId, String sessionId) {
-        String undoKey = getUndoKey(userId, sessionId);
-        String redoKey = getRedoKey(userId, sessionId);
-
-        Long size = redisTemplate.opsForList().size(undoKey);
-        if (size == null || size <= 1) return null;
-
-        String popped = redisTemplate.opsForList().leftPop(undoKey);
-        if (popped != null) {
-            redisTemplate.opsForList().leftPush(redoKey, popped);
-        }
+        return toText(undoSnapshot(userId, sessionId));
+    }
 
-        return redisTemplate.opsForList().index(undoKey, 0);
+    /**
+     * 🔙 되돌리기 (상태 + 토큰)
+     */
+    public CanvasSnapshot undoSnapshot(String userId, String sessionId) {
+        Keys keys = new Keys(userId, sessionId);
+        // 델타 프레임은 기준(바로 아래 상태)이 redo 로 옮겨진 뒤에도 undo 의 top 이므로 그대로 옮겨도 복원 가능
+        return read(keys, redisTemplate.execute(UNDO, keys.all(), bytes(newToken()), bytes(keyframeInterval()), ttlSeconds()));
     }
 
     /**
@@ -59,40 +223,148 @@ public class RedisService {
      * - 새 상태를 current로 반환
      */
     public String redo(String userId, String sessionId) {
-        String undoKey = getUndoKey(userId, sessionId);
-        String redoKey = getRedoKey(userId, sessionId);
-
-        String popped = redisTemplate.opsForList().leftPop(redoKey);
-        if (popped != null) {
-            redisTemplate.opsForList().leftPush(undoKey, popped);
-        }
+        return toText(redoSnapshot(userId, sessionId));
+    }
 
-        return redisTemplate.opsForList().index(undoKey, 0);
+    /**
+     * 🔁 다시 실행 (상태 + 토큰)
+     */
+    public CanvasSnapshot redoSnapshot(String userId, String sessionId) {
+        Keys keys = new Keys(userId, sessionId);
+        return read(keys, redisTemplate.execute(REDO, keys.all(), bytes(newToken()), bytes(keyframeInterval()), ttlSeconds()));
     }
 
     /**
      * 📂 현재 상태 조회
      * - undo 스택의 top을 반환
+     * - 복제본 읽기 사용 시 복제본에서 조회 (복제 지연만큼 직전 변경이 늦게 보일 수 있음)
      */
     public String getCurrentState(String userId, String sessionId) {
-        String undoKey = getUndoKey(userId, sessionId);
-        return redisTemplate.opsForList().index(undoKey, 0);
+        Keys keys = new Keys(userId, sessionId);
+        if (replicaReads) {
+            CanvasState state = readReplica(keys);
+            if (state != null) return state.toText();
+        }
+        return toText(read(keys, redisTemplate.execute(CURRENT, keys.all(), bytes(keyframeInterval()), ANY)));
+    }
+
+    /**
+     * 📂 현재 상태 조회 (상태 + 토큰, 조건부)
+     * - 토큰 확인과 상태 조회를 한 스크립트에서 처리하므로 기본 서버에서 조회
+     *
+     * @param knownToken 클라이언트가 가진 상태의 토큰 (같으면 상태 없이 notModified 반환)
+     * @return 상태가 없으면 null
+     */
+    public CanvasSnapshot currentSnapshot(String userId, String sessionId, String knownToken) {
+        Keys keys = new Keys(userId, sessionId);
+        List<?> reply = redisTemplate.execute(CURRENT, keys.all(), bytes(keyframeInterval()),
+                knownToken != null && !knownToken.isEmpty() ? bytes(knownToken) : ANY);
+        if (reply != null && reply.size() == 1 && knownToken != null
+                && knownToken.equals(new String((byte[]) reply.get(0), StandardCharsets.UTF_8))) {
+            return CanvasSnapshot.notModified(knownToken);
+        }
+        return read(keys, reply);
     }
 
     /**
      * 🧹 사용자 상태 전체 초기화
      */
     public void clearSession(String userId, String sessionId) {
-        redisTemplate.delete(getUndoKey(userId, sessionId));
-        redisTemplate.delete(getRedoKey(userId, sessionId));
+        Keys keys = new Keys(userId, sessionId);
+        redisTemplate.delete(keys.all());
+        heads.invalidate(keys.undo);
     }
 
-    // 🔑 키 생성 도우미
-    private String getUndoKey(String userId, String sessionId) {
-        return "undo:" + userId + ":" + sessionId;
+    private boolean push(Keys keys, byte[] frame, byte[] kind, String baseToken, String token) {
+        Long saved = redisTemplate.execute(PUSH, keys.all(), frame, kind,
+                baseToken != null ? bytes(baseToken) : ANY, bytes(token),
+                bytes(maxDepth()), bytes(keyframeInterval()), ttlSeconds());
+        return saved != null && saved == 1L;
     }
 
-    private String getRedoKey(String userId, String sessionId) {
-        return "redo:" + userId + ":" + sessionId;
+    /**
+     * 스크립트 결과 {토큰, 프레임...} → top 상태 (델타 기준 캐시도 갱신)
+     */
+    private CanvasSnapshot read(Keys keys, List<?> reply) {
+        if (reply == null || reply.isEmpty()) return null;
+        if (reply.size() == 1) {
+            heads.invalidate(keys.undo);
+            return null;
+        }
+        String token = new String((byte[]) reply.get(0), StandardCharsets.UTF_8);
+        List<byte[]> frames = reply.subList(1, reply.size()).stream().map(byte[].class::cast).toList();
+        CanvasState state = codec.decode(frames);
+        heads.put(keys.undo, new Head(token, state, frames.size() - 1));
+        return new CanvasSnapshot(token, state);
+    }
+
+    private static String toText(CanvasSnapshot snapshot) {
+        return snapshot == null ? null : snapshot.state().toText();
+    }
+
+    /**
+     * 복제본에서 top 상태 조회
+     * - 복제본에서는 스크립트(쓰기 명령으로 취급)를 실행할 수 없어 LRANGE 한 번으로 keyframeInterval 개를 읽고
+     *   프레임 첫 바이트로 키프레임 위치를 찾음 (한 명령이라 중간에 다른 변경이 끼어들지 않음)
+     * - 토큰을 함께 읽지 않으므로 델타 기준 캐시는 갱신하지 않음
+     *
+     * @return 범위 안에 키프레임이 없거나 비어 있으면 null (기본 서버에서 다시 조회)
+     */
+    private CanvasState readReplica(Keys keys) {
+        List<byte[]> frames = replicaRedisTemplate.opsForList().range(keys.undo, 0, keyframeInterval() - 1);
+        if (frames == null) return null;
+        for (int i = 0; i < frames.size(); i++) {
+            if (CanvasFrameCodec.kind(frames.get(i)) == CanvasFrameCodec.KEYFRAME) {
+                return codec.decode(frames.subList(0, i + 1));
+            }
+        }
+        return null;
+    }
+
+    private int maxDepth() {
+        return Math.max(1, properties.getMaxDepth());
+    }
+
+    /**
+     * 연속 델타 상한 - maxDepth 안에 항상 키프레임이 하나 이상 있도록 maxDepth 이하로 제한
+     */
+    private int keyframeInterval() {
+        return Math.max(1, Math.min(properties.getKeyframeInterval(), maxDepth()));
+    }
+
+    private byte[] ttlSeconds() {
+        return bytes(Math.max(1, properties.getIdleTtl().toSeconds()));
+    }
+
+    private static String newToken() {
+        return Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+
+    private static byte[] bytes(Object value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 세션의 현재 상태 (델타 기준)
+     *
+     * @param token Redis 에 저장된 상태 토큰 (같을 때만 이 상태 기준 델타 저장 가능)
+     * @param run   현재 top 까지 연속된 델타 수
+     */
+    private record Head(String token, CanvasState state, int run) {
+    }
+
+    // 🔑 키 생성 도우미 (한 스크립트에서 함께 쓰므로 {사용자:세션} 해시 태그로 같은 슬롯에 배치)
+    private record Keys(String undo, String undoKind, String redo, String redoKind, String head) {
+        Keys(String userId, String sessionId) {
+            this("canvas:undo:{" + userId + ":" + sessionId + "}",
+                    "canvas:undo:kind:{" + userId + ":" + sessionId + "}",
+                    "canvas:redo:{" + userId + ":" + sessionId + "}",
+                    "canvas:redo:kind:{" + userId + ":" + sessionId + "}",
+                    "canvas:head:{" + userId + ":" + sessionId + "}");
+        }
+
+        List<String> all() {
+            return List.of(undo, undoKind, redo, redoKind, head);
+        }
     }
 }
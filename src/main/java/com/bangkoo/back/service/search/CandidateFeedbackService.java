@@ -1,54 +1,184 @@
 package com.bangkoo.back.service.search;
 
 import com.bangkoo.back.model.search.CandidateFeedback;
-import com.bangkoo.back.repository.search.CandidateFeedbackRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * 검색 후보 노출(impression) 집계
+ *
+ * - 검색 요청에서는 메모리 카운터(LongAdder)만 올리고 바로 반환
+ * - search.feedback.flush-interval-ms 마다 모인 값을 candidate_feedback 에 $inc upsert 한 번의 bulk 로 반영
+ * - 대기 키 수가 search.feedback.max-pending-keys 를 넘으면 새 키는 버리고 dropped 지표로 집계
+ * - 서버 종료 시 남은 값 반영
+ */
+@Slf4j
 @Service
 public class CandidateFeedbackService {
-    private final CandidateFeedbackRepository repo;
 
-    public CandidateFeedbackService(CandidateFeedbackRepository repo) {
-        this.repo = repo;
+    private final MongoTemplate mongoTemplate;
+    private final int maxPendingKeys;
+
+    /** 카운터 증가(read) 와 맵 교체(write) 분리 → 교체 도중 증가분 유실 방지 */
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile ConcurrentHashMap<FeedbackKey, LongAdder> pendingImpressions = new ConcurrentHashMap<>();
+    /** 현재 맵에서 가장 오래된 미반영 노출 시각 (0 = 없음) */
+    private final AtomicLong oldestPendingAt = new AtomicLong();
+
+    private final Timer flushTimer;
+    private final Counter droppedImpressions;
+    private final Counter flushFailures;
+
+    public CandidateFeedbackService(MongoTemplate mongoTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${search.feedback.max-pending-keys:100000}") int maxPendingKeys) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxPendingKeys = maxPendingKeys;
+
+        this.flushTimer = Timer.builder("search.feedback.flush")
+                .description("노출 집계 bulk 반영 시간")
+                .register(meterRegistry);
+        this.droppedImpressions = Counter.builder("search.feedback.impressions.dropped")
+                .description("대기 키 상한 초과로 버린 노출 수")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("search.feedback.flush.failures")
+                .register(meterRegistry);
+        Gauge.builder("search.feedback.impressions.pending", this, s -> s.pendingImpressions.size())
+                .description("반영 대기 중인 (후보, 사용자) 키 수")
+                .register(meterRegistry);
+        Gauge.builder("search.feedback.flush.lag", this, CandidateFeedbackService::flushLagSeconds)
+                .description("가장 오래된 미반영 노출의 경과 시간(초)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
     }
 
     /**
-     * @param candidates  Python → Java 로 전달된 후보 리스트
-     * @param userId      로그인된 유저 ID (없으면 null)
+     * 노출 기록 (메모리 집계만, Mongo 반영은 flush 에서)
+     *
+     * @param candidateIds  AI 서버 응답의 후보 '링크' 목록 (null 항목은 건너뜀)
+     * @param userId        로그인된 유저 ID (없으면 null)
      */
-    public void saveImpressions(List<Map<String,Object>> candidates, String userId) {
-        Date now = new Date();
-        for (Map<String,Object> cand : candidates) {
+    public void saveImpressions(List<String> candidateIds, String userId) {
+        swapLock.readLock().lock();
+        try {
+            ConcurrentHashMap<FeedbackKey, LongAdder> pending = pendingImpressions;
+            for (String candidateId : candidateIds) {
+                if (candidateId == null) continue; // '링크' 필드가 없으면 건너뜀
 
-            Object rawLink = cand.get("링크");
-            if (rawLink == null) {
-                // '링크' 필드가 없으면 로그만 남기고 다음으로
-//                System.out.println("saveImpressions: '링크' 키가 없습니다. cand={}" + cand);
-                continue;
+                FeedbackKey key = new FeedbackKey(candidateId, userId);
+                LongAdder counter = pending.get(key);
+                if (counter == null) {
+                    if (pending.size() >= maxPendingKeys) {
+                        droppedImpressions.increment();
+                        continue;
+                    }
+                    counter = pending.computeIfAbsent(key, k -> new LongAdder());
+                }
+                counter.increment();
             }
+            oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 모인 노출 수를 candidate_feedback 에 반영
+     * - 문서가 없으면 새로 만들고(upsert), 있으면 impressions 만 원자적으로 증가
+     */
+    @Scheduled(fixedDelayString = "${search.feedback.flush-interval-ms:5000}")
+    public void flush() {
+        ConcurrentHashMap<FeedbackKey, LongAdder> batch;
+        swapLock.writeLock().lock();
+        try {
+            if (pendingImpressions.isEmpty()) return;
+            batch = pendingImpressions;
+            pendingImpressions = new ConcurrentHashMap<>();
+            oldestPendingAt.set(0);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        Date now = new Date();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CandidateFeedback.class);
+        batch.forEach((key, count) -> bulk.upsert(
+                Query.query(Criteria.where("_id").is(docId(key.candidateId(), key.userId()))),
+                new Update()
+                        .inc("impressions", count.sum())
+                        .set("lastUpdated", now)
+                        .setOnInsert("candidateId", key.candidateId())
+                        .setOnInsert("userId", key.userId())
+                        .setOnInsert("clicks", 0L)));
+
+        try {
+            flushTimer.record(bulk::execute);
+            log.debug("노출 집계 반영 - {}건", batch.size());
+        } catch (Exception e) {
+            flushFailures.increment();
+            log.warn("노출 집계 반영 실패 - {}건, 다음 주기에 재시도: {}", batch.size(), e.getMessage());
+            requeue(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * candidate_feedback 문서 ID (후보 + 사용자)
+     */
+    static String docId(String candidateId, String userId) {
+        return candidateId + "_" + (userId != null ? userId : "ANON");
+    }
 
-            String candidateId = cand.get("링크").toString();
-            // id 조합
-            String docId = candidateId + "_" + (userId != null ? userId : "ANON");
-
-            // 복합 조회
-            CandidateFeedback fb = repo.findById(docId)
-                    .orElse(CandidateFeedback.builder()
-                            .id(docId)
-                            .candidateId(candidateId)
-                            .userId(userId)
-                            .impressions(0)
-                            .clicks(0)
-                            .lastUpdated(now)
-                            .build());
-
-            fb.setImpressions(fb.getImpressions() + 1);
-            fb.setLastUpdated(now);
-            repo.save(fb);
+    /**
+     * 반영 실패분 되돌리기 (상한 초과분은 버림)
+     */
+    private void requeue(Map<FeedbackKey, LongAdder> failed) {
+        swapLock.readLock().lock();
+        try {
+            ConcurrentHashMap<FeedbackKey, LongAdder> pending = pendingImpressions;
+            failed.forEach((key, count) -> {
+                LongAdder counter = pending.get(key);
+                if (counter == null && pending.size() >= maxPendingKeys) {
+                    droppedImpressions.increment(count.sum());
+                    return;
+                }
+                pending.computeIfAbsent(key, k -> new LongAdder()).add(count.sum());
+            });
+            oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+        } finally {
+            swapLock.readLock().unlock();
         }
     }
+
+    private double flushLagSeconds() {
+        long oldest = oldestPendingAt.get();
+        return oldest == 0 ? 0 : (System.currentTimeMillis() - oldest) / 1000.0;
+    }
+
+    private record FeedbackKey(String candidateId, String userId) {
+    }
 }
@@ -0,0 +1,240 @@
+package com.bangkoo.back.service.search;
+
+import com.bangkoo.back.dto.search.ClickEventDTO;
+import com.bangkoo.back.model.search.CandidateFeedback;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 검색 후보 클릭 수집
+ *
+ * - 클릭 이벤트는 Redis 에서 중복 제거 후 해시(feedback:clicks:pending)에 HINCRBY 로 누적
+ *   → 요청당 Lua 스크립트 1회 (이벤트 수와 무관하게 Redis 왕복 1번, Mongo 쓰기 없음)
+ * - 주기적으로 해시를 통째로 RENAME 해서 가져온 뒤 candidate_feedback 에 $inc upsert bulk 로 반영
+ * - 여러 서버가 떠 있어도 반영은 잠금을 잡은 서버 한 곳에서만 수행
+ * - 반영 도중 서버가 죽으면 flushing 해시가 남아 있다가 다음 주기에 다시 반영
+ *   → flushing 해시마다 배치 ID 를 붙이고 문서에 최근 배치 ID(appliedFlushes)를 같은 upsert 로 기록해
+ *     이미 반영된 문서는 다시 더하지 않음 (bulk 일부 실패, 반영 후 DEL 실패 시에도 중복 집계 없음)
+ * - 집계된 클릭은 재정렬 실험 그룹별로도 센다 (search.ranking.clicks{variant})
+ */
+@Slf4j
+@Service
+public class ClickTrackingService {
+
+    static final String PENDING_KEY = "feedback:clicks:pending";
+    static final String FLUSHING_KEY = "feedback:clicks:flushing";
+    static final String FLUSH_ID_KEY = "feedback:clicks:flushing:id";
+    private static final String LOCK_KEY = "feedback:clicks:lock";
+    private static final String DEDUP_PREFIX = "feedback:clicks:dedup:";
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final String APPLIED_FIELD = "appliedFlushes";
+    private static final int APPLIED_KEEP = 10;          // 문서마다 남겨둘 최근 배치 ID 수
+    private static final int DUPLICATE_KEY = 11000;
+
+    /**
+     * ARGV[1] = 중복 제거 유지 시간(초), 이후 (중복 키, 해시 필드) 쌍 반복
+     * 중복 키가 빈 문자열이면 중복 검사 없이 누적
+     * @return 쌍마다 누적 여부 (1 = 누적, 0 = 중복)
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RECORD_CLICKS = new DefaultRedisScript<>("""
+            local accepted = {}
+            for i = 2, #ARGV, 2 do
+              local dedup = ARGV[i]
+              if dedup == '' or redis.call('SET', dedup, '1', 'NX', 'EX', ARGV[1]) then
+                redis.call('HINCRBY', KEYS[1], ARGV[i + 1], 1)
+                accepted[#accepted + 1] = 1
+              else
+                accepted[#accepted + 1] = 0
+              end
+            end
+            return accepted
+            """, List.class);
+
+    /**
+     * KEYS[1] = pending, KEYS[2] = flushing, KEYS[3] = 배치 ID, ARGV[1] = 새 배치 ID
+     * 남은 flushing 해시가 있으면 그 배치 ID 를, 없으면 pending 을 flushing 으로 옮기고 새 배치 ID 를 반환
+     * @return 반영할 배치 ID (반영할 것이 없으면 false → null)
+     */
+    private static final RedisScript<String> BEGIN_FLUSH = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+              local id = redis.call('GET', KEYS[3])
+              if id then return id end
+              redis.call('SET', KEYS[3], ARGV[1])
+              return ARGV[1]
+            end
+            if redis.call('EXISTS', KEYS[1]) == 0 then return false end
+            redis.call('RENAME', KEYS[1], KEYS[2])
+            redis.call('SET', KEYS[3], ARGV[1])
+            return ARGV[1]
+            """, String.class);
+
+    /**
+     * 잠금 해제 - 내가 잡은 잠금일 때만 삭제 (GET 후 DEL 사이에 만료·재획득된 다른 서버의 잠금을 지우지 않도록)
+     */
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final CtrRankingService rankingService;
+    private final Duration dedupWindow;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Counter acceptedClicks;
+    private final Counter duplicateClicks;
+    private final Map<String, Counter> variantClicks = new HashMap<>();
+    private final Timer flushTimer;
+
+    public ClickTrackingService(RedisTemplate<String, String> redisTemplate,
+                                MongoTemplate mongoTemplate,
+                                CtrRankingService rankingService,
+                                MeterRegistry meterRegistry,
+                                @Value("${search.feedback.click-dedup-seconds:10}") long dedupSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.mongoTemplate = mongoTemplate;
+        this.rankingService = rankingService;
+        this.dedupWindow = Duration.ofSeconds(dedupSeconds);
+
+        this.acceptedClicks = Counter.builder("search.feedback.clicks").tag("result", "accepted").register(meterRegistry);
+        this.duplicateClicks = Counter.builder("search.feedback.clicks").tag("result", "duplicate").register(meterRegistry);
+        for (String variant : List.of(CtrRankingService.RANKED, CtrRankingService.RAW, CtrRankingService.ANONYMOUS)) {
+            variantClicks.put(variant, Counter.builder("search.ranking.clicks").tag("variant", variant).register(meterRegistry));
+        }
+        this.flushTimer = Timer.builder("search.feedback.clicks.flush")
+                .description("클릭 집계 bulk 반영 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 클릭 이벤트 기록
+     * - 같은 eventId, 또는 같은 사용자의 같은 후보 클릭은 dedup 시간 안에 한 번만 집계
+     * - 비로그인 + eventId 없는 이벤트는 구분할 수 없어 중복 검사 없이 집계
+     *
+     * @return 집계된(중복 아닌) 이벤트 수
+     */
+    public int recordClicks(List<ClickEventDTO> events) {
+        List<ClickEventDTO> valid = new ArrayList<>(events.size());
+        List<String> args = new ArrayList<>(events.size() * 2 + 1);
+        args.add(String.valueOf(dedupWindow.toSeconds()));
+        for (ClickEventDTO event : events) {
+            if (event == null || event.getCandidateId() == null || event.getCandidateId().isBlank()) continue;
+            valid.add(event);
+            args.add(dedupKey(event));
+            args.add(event.getCandidateId() + FIELD_SEPARATOR + (event.getUserId() != null ? event.getUserId() : ""));
+        }
+        if (valid.isEmpty()) return 0;
+
+        List<?> flags = redisTemplate.execute(RECORD_CLICKS, List.of(PENDING_KEY), args.toArray());
+        int count = 0;
+        for (int i = 0; flags != null && i < flags.size() && i < valid.size(); i++) {
+            if (!(flags.get(i) instanceof Number flag) || flag.intValue() == 0) continue;
+            count++;
+            variantClicks.get(rankingService.variant(valid.get(i).getUserId())).increment();
+        }
+        acceptedClicks.increment(count);
+        duplicateClicks.increment(valid.size() - count);
+        return count;
+    }
+
+    /**
+     * Redis 에 모인 클릭 수를 candidate_feedback 에 반영
+     */
+    @Scheduled(fixedDelayString = "${search.feedback.flush-interval-ms:5000}")
+    public void flush() {
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, nodeId, Duration.ofMinutes(1));
+        if (!Boolean.TRUE.equals(locked)) return;
+
+        try {
+            // 이전 반영이 중간에 실패했으면 남은 flushing 해시를 같은 배치 ID 로 다시 반영
+            String batchId = redisTemplate.execute(BEGIN_FLUSH, List.of(PENDING_KEY, FLUSHING_KEY, FLUSH_ID_KEY),
+                    UUID.randomUUID().toString());
+            if (batchId == null) return;
+
+            Map<Object, Object> entries = redisTemplate.opsForHash().entries(FLUSHING_KEY);
+            if (!entries.isEmpty()) {
+                flushTimer.record(() -> write(entries, batchId));
+            }
+            redisTemplate.delete(List.of(FLUSHING_KEY, FLUSH_ID_KEY));
+            log.debug("클릭 집계 반영 - {}건 (배치 {})", entries.size(), batchId);
+        } catch (Exception e) {
+            log.warn("클릭 집계 반영 실패, 다음 주기에 재시도: {}", e.getMessage());
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK, List.of(LOCK_KEY), nodeId);
+        }
+    }
+
+    /**
+     * 배치 하나를 candidate_feedback 에 반영
+     * - 필터에 "appliedFlushes 에 이 배치 ID 가 없음" 을 넣어, 이미 반영된 문서는 매치되지 않음
+     *   → upsert 가 같은 _id 로 insert 를 시도해 중복 키(11000) 오류가 남
+     * - 중복 키 오류가 난 항목은 upsert 없이 한 번 더 갱신 (이미 반영됐으면 0건, 다른 요청이 방금 문서를 만든 경우만 반영)
+     */
+    private void write(Map<Object, Object> entries, String batchId) {
+        Date now = new Date();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CandidateFeedback.class);
+        List<Query> queries = new ArrayList<>(entries.size());
+        List<Update> updates = new ArrayList<>(entries.size());
+        entries.forEach((field, value) -> {
+            String[] parts = field.toString().split(FIELD_SEPARATOR, 2);
+            String candidateId = parts[0];
+            String userId = parts.length > 1 && !parts[1].isEmpty() ? parts[1] : null;
+            Query query = Query.query(Criteria.where("_id").is(CandidateFeedbackService.docId(candidateId, userId))
+                    .and(APPLIED_FIELD).ne(batchId));
+            Update update = new Update()
+                    .inc("clicks", Long.parseLong(value.toString()))
+                    .set("lastUpdated", now)
+                    .setOnInsert("candidateId", candidateId)
+                    .setOnInsert("userId", userId)
+                    .setOnInsert("impressions", 0L);
+            update.push(APPLIED_FIELD).slice(-APPLIED_KEEP).each(batchId);
+            bulk.upsert(query, update);
+            queries.add(query);
+            updates.add(update);
+        });
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            if (!e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY)) throw e;
+            e.getErrors().forEach(error ->
+                    mongoTemplate.updateFirst(queries.get(error.getIndex()), updates.get(error.getIndex()), CandidateFeedback.class));
+            log.debug("클릭 집계 - 중복 키 {}건 재확인 (배치 {})", e.getErrors().size(), batchId);
+        }
+    }
+
+    private String dedupKey(ClickEventDTO event) {
+        if (event.getEventId() != null && !event.getEventId().isBlank()) {
+            return DEDUP_PREFIX + "e:" + event.getEventId();
+        }
+        if (event.getUserId() != null && !event.getUserId().isBlank()) {
+            return DEDUP_PREFIX + "u:" + event.getUserId() + FIELD_SEPARATOR + event.getCandidateId();
+        }
+        return "";
+    }
+}
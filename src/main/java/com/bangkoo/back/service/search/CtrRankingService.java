@@ -0,0 +1,218 @@
+package com.bangkoo.back.service.search;
+
+import com.bangkoo.back.config.properites.SearchRankingProperties;
+import com.bangkoo.back.model.search.CandidateFeedback;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 검색 후보 CTR 기반 재정렬
+ *
+ * - candidate_feedback 을 주기적으로 읽어 메모리 CTR 표(후보별 / 사용자×후보별)를 만들고 통째로 교체
+ *   → 검색 요청에서는 HashMap 조회만 하므로 후보당 O(1)
+ * - CTR 평활화: 전체 평균 → 후보 CTR → 사용자 CTR 순으로, 상위 값을 priorImpressions 노출만큼 섞음
+ *   (노출이 적은 후보/사용자는 상위 평균에 가깝게 유지)
+ * - 점수 = 원래 순위 가중치(1/log2(순위+2)) × (CTR / 전체 평균)^weight
+ * - A/B: 로그인 사용자는 ID 해시로 ranked/raw 에 고정 배정, 비로그인은 재정렬하지 않음(anonymous)
+ * - 지표: search.ranking.requests / impressions {variant}, search.ranking.rerank(시간),
+ *         search.ranking.displacement(평균 순위 이동), 클릭은 ClickTrackingService 의 search.ranking.clicks {variant}
+ */
+@Slf4j
+@Service
+public class CtrRankingService {
+
+    public static final String RANKED = "ranked";
+    public static final String RAW = "raw";
+    public static final String ANONYMOUS = "anonymous";
+
+    private final MongoTemplate mongoTemplate;
+    private final SearchRankingProperties properties;
+
+    private volatile CtrTable table = CtrTable.EMPTY;
+
+    private final Map<String, Counter> requests = new HashMap<>();
+    private final Map<String, Counter> impressions = new HashMap<>();
+    private final Timer rerankTimer;
+    private final Timer refreshTimer;
+    private final DistributionSummary displacement;
+
+    public CtrRankingService(MongoTemplate mongoTemplate,
+                             SearchRankingProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+
+        for (String variant : List.of(RANKED, RAW, ANONYMOUS)) {
+            requests.put(variant, Counter.builder("search.ranking.requests").tag("variant", variant).register(meterRegistry));
+            impressions.put(variant, Counter.builder("search.ranking.impressions").tag("variant", variant).register(meterRegistry));
+        }
+        this.rerankTimer = Timer.builder("search.ranking.rerank")
+                .description("검색 후보 재정렬 시간")
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("search.ranking.refresh")
+                .description("CTR 표 갱신 시간")
+                .register(meterRegistry);
+        this.displacement = DistributionSummary.builder("search.ranking.displacement")
+                .description("재정렬로 인한 후보당 평균 순위 이동")
+                .register(meterRegistry);
+        Gauge.builder("search.ranking.table.candidates", this, s -> s.table.candidateCtr().size())
+                .register(meterRegistry);
+        Gauge.builder("search.ranking.table.users", this, s -> s.table.userCtr().size())
+                .register(meterRegistry);
+        Gauge.builder("search.ranking.table.age", this, s -> s.table.builtAt() == 0 ? 0
+                        : (System.currentTimeMillis() - s.table.builtAt()) / 1000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자의 실험 그룹
+     */
+    public String variant(String userId) {
+        if (userId == null || userId.isBlank()) return ANONYMOUS;
+        if (!properties.isEnabled()) return RAW;
+        return Math.floorMod(userId.hashCode() * 0x9E3779B9, 100) < properties.getTreatmentPercent() ? RANKED : RAW;
+    }
+
+    /**
+     * 후보 순서 결정
+     *
+     * @param candidateIds AI 서버가 준 순서의 후보 ID (ID 없는 후보는 null)
+     * @param userId       사용자 ID (없으면 null)
+     * @return 새 순서 (order[i] = i 번째로 보여줄 원래 위치), 재정렬하지 않으면 null
+     */
+    public int[] rank(List<String> candidateIds, String userId) {
+        String variant = variant(userId);
+        requests.get(variant).increment();
+        impressions.get(variant).increment(candidateIds.size());
+
+        CtrTable current = table;
+        if (!RANKED.equals(variant) || candidateIds.size() < 2 || current.mean() <= 0) return null;
+
+        long start = System.nanoTime();
+        int[] order = rerank(candidateIds, current.userCtr().getOrDefault(userId, Map.of()), current);
+        rerankTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        long moved = 0;
+        for (int i = 0; i < order.length; i++) {
+            moved += Math.abs(order[i] - i);
+        }
+        displacement.record((double) moved / order.length);
+        return order;
+    }
+
+    private int[] rerank(List<String> candidateIds, Map<String, Double> userCtr, CtrTable current) {
+        int n = candidateIds.size();
+        double[] score = new double[n];
+        for (int i = 0; i < n; i++) {
+            String id = candidateIds.get(i);
+            double ctr = id == null ? current.mean()
+                    : userCtr.getOrDefault(id, current.candidateCtr().getOrDefault(id, current.mean()));
+            double lift = Math.min(properties.getMaxLift(), ctr / current.mean());
+            score[i] = Math.pow(lift, properties.getWeight()) / (Math.log(i + 2) / Math.log(2));
+        }
+        return IntStream.range(0, n).boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> -score[i]).thenComparingInt(i -> i))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    /**
+     * candidate_feedback → CTR 표 재계산
+     */
+    @Scheduled(fixedDelayString = "${search.ranking.refresh-interval-ms:60000}", initialDelayString = "${search.ranking.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!properties.isEnabled()) return;
+        try {
+            CtrTable built = refreshTimer.recordCallable(this::build);
+            table = built;
+            log.debug("CTR 표 갱신 - 후보 {}개, 사용자 {}명", built.candidateCtr().size(), built.userCtr().size());
+        } catch (Exception e) {
+            log.warn("CTR 표 갱신 실패, 이전 표 유지: {}", e.getMessage());
+        }
+    }
+
+    private CtrTable build() {
+        double k = properties.getPriorImpressions();
+
+        // 1) 후보별 합계 (전체 사용자)
+        Aggregation byCandidate = Aggregation.newAggregation(
+                Aggregation.group("candidateId").sum("impressions").as("impressions").sum("clicks").as("clicks"));
+        List<Document> rows = mongoTemplate.aggregate(byCandidate, CandidateFeedback.class, Document.class)
+                .getMappedResults();
+
+        double totalImpressions = 0, totalClicks = 0;
+        for (Document row : rows) {
+            totalImpressions += number(row, "impressions");
+            totalClicks += number(row, "clicks");
+        }
+        if (totalImpressions <= 0) return CtrTable.EMPTY;
+        double mean = totalClicks / totalImpressions;
+
+        Map<String, Double> candidateCtr = new HashMap<>(rows.size() * 2);
+        for (Document row : rows) {
+            Object id = row.get("_id");
+            if (id == null) continue;
+            candidateCtr.put(id.toString(), (number(row, "clicks") + k * mean) / (number(row, "impressions") + k));
+        }
+
+        // 2) 최근 활동이 있는 사용자 × 후보
+        Query recent = Query.query(Criteria.where("userId").ne(null)
+                .and("lastUpdated").gte(new Date(System.currentTimeMillis() - properties.getUserWindow().toMillis())));
+        recent.fields().include("candidateId", "userId", "impressions", "clicks");
+
+        Map<String, Map<String, Double>> userCtr = new HashMap<>();
+        try (Stream<CandidateFeedback> stream = mongoTemplate.stream(recent, CandidateFeedback.class)) {
+            stream.forEach(fb -> {
+                if (fb.getCandidateId() == null) return;
+                double prior = candidateCtr.getOrDefault(fb.getCandidateId(), mean);
+                userCtr.computeIfAbsent(fb.getUserId(), u -> new HashMap<>())
+                        .put(fb.getCandidateId(), (fb.getClicks() + k * prior) / (fb.getImpressions() + k));
+            });
+        }
+
+        return new CtrTable(mean, candidateCtr, userCtr, System.currentTimeMillis());
+    }
+
+    private static double number(Document row, String field) {
+        Object value = row.get(field);
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    /**
+     * 갱신 시점의 CTR 표 (교체만 하고 수정하지 않음)
+     */
+    private record CtrTable(double mean,
+                            Map<String, Double> candidateCtr,
+                            Map<String, Map<String, Double>> userCtr,
+                            long builtAt) {
+        static final CtrTable EMPTY = new CtrTable(0, Map.of(), Map.of(), 0);
+    }
+}
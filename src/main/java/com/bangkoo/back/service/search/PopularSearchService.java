@@ -0,0 +1,282 @@
+package com.bangkoo.back.service.search;
+
+import com.bangkoo.back.dto.search.PopularSearchDTO;
+import com.bangkoo.back.service.redis.RedisPipelineExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인기 검색어 순위표 (Redis sorted set)
+ *
+ * - 검색 로그 저장 시(SearchLogWriter) 전체 누적(popular:all) 과 1시간 버킷(popular:h:{yyyyMMddHH}, UTC) 에 ZINCRBY
+ * - 1분마다 최근 버킷을 ZUNIONSTORE 로 합쳐 기간별 순위표(popular:win:{hour|day|week}) 를 미리 만들어 둠
+ *   · day / week 는 오래된 버킷일수록 반감기(half-life) 에 따라 가중치를 낮춤
+ *   · hour 는 현재 버킷 + 지난 버킷의 남은 비율 (최근 60분 근사)
+ * - 조회는 미리 만든 키에서 ZREVRANGE 한 번 → O(log n + limit)
+ * - 순위표가 없으면(최초 기동 / Redis 초기화) search_logs 에서 다시 만듦 (backfill)
+ *   · 전체 누적은 보관 기간이 지나 삭제된 날짜를 search_log_daily 로 채움
+ */
+@Slf4j
+@Service
+public class PopularSearchService {
+
+    /**
+     * 조회 기간
+     */
+    public enum Window {
+        HOUR(2), DAY(24), WEEK(24 * 7), ALL(0);
+
+        private final int buckets;
+
+        Window(int buckets) {
+            this.buckets = buckets;
+        }
+
+        public static Window from(String value) {
+            return value == null ? ALL : Window.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final String ALL_KEY = "popular:all";
+    private static final String BUCKET_PREFIX = "popular:h:";
+    private static final String WINDOW_PREFIX = "popular:win:";
+    private static final DateTimeFormatter BUCKET_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHH").withZone(ZoneOffset.UTC);
+    /** 버킷 보관 기간 (week 계산 + 여유 1일) */
+    private static final Duration BUCKET_TTL = Duration.ofDays(8);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisPipelineExecutor pipelineExecutor;
+    private final MongoTemplate mongoTemplate;
+    private final SearchLogRollupService rollupService;
+    private final Duration halfLife;
+    private final int maxEntries;
+
+    public PopularSearchService(RedisTemplate<String, String> redisTemplate,
+                                RedisPipelineExecutor pipelineExecutor,
+                                MongoTemplate mongoTemplate,
+                                SearchLogRollupService rollupService,
+                                @Value("${search.popular.half-life:24h}") Duration halfLife,
+                                @Value("${search.popular.max-entries:10000}") int maxEntries) {
+        this.redisTemplate = redisTemplate;
+        this.pipelineExecutor = pipelineExecutor;
+        this.mongoTemplate = mongoTemplate;
+        this.rollupService = rollupService;
+        this.halfLife = halfLife;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 검색어 집계 (전체 누적 + 해당 시간 버킷, 여러 건을 파이프라인 한 번으로)
+     */
+    public void record(Collection<Map.Entry<String, Instant>> searches) {
+        if (searches.isEmpty()) return;
+        try {
+            pipelineExecutor.execute("popular", redisTemplate, searches, (operations, search) -> {
+                String query = normalize(search.getKey());
+                if (query.isEmpty()) return;
+                String bucket = bucketKey(search.getValue());
+                ZSetOperations<String, String> zSet = operations.opsForZSet();
+                zSet.incrementScore(ALL_KEY, query, 1);
+                zSet.incrementScore(bucket, query, 1);
+                operations.expire(bucket, BUCKET_TTL.toSeconds(), TimeUnit.SECONDS);
+            });
+        } catch (Exception e) {
+            log.warn("인기 검색어 집계 실패 - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 기간별 인기 검색어 조회
+     *
+     * @param window 조회 기간
+     * @param limit  최대 개수
+     */
+    public List<PopularSearchDTO> getPopular(Window window, int limit) {
+        if (limit <= 0) return List.of();
+        String key = window == Window.ALL ? ALL_KEY : WINDOW_PREFIX + window.name().toLowerCase();
+        Set<ZSetOperations.TypedTuple<String>> top =
+                redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1);
+        if (top == null) return List.of();
+
+        List<PopularSearchDTO> result = new ArrayList<>(top.size());
+        for (ZSetOperations.TypedTuple<String> tuple : top) {
+            long count = tuple.getScore() == null ? 0 : Math.round(tuple.getScore());
+            if (count > 0) result.add(new PopularSearchDTO(tuple.getValue(), count));
+        }
+        return result;
+    }
+
+    /**
+     * 기간별 순위표 갱신 + 전체 누적 순위표 크기 제한
+     */
+    @Scheduled(fixedDelayString = "${search.popular.refresh-interval-ms:60000}")
+    public void refreshWindows() {
+        try {
+            Instant now = Instant.now();
+            double elapsedInHour = (now.getEpochSecond() % 3600) / 3600.0;
+
+            for (Window window : List.of(Window.HOUR, Window.DAY, Window.WEEK)) {
+                List<String> keys = new ArrayList<>(window.buckets);
+                double[] weights = new double[window.buckets];
+                for (int age = 0; age < window.buckets; age++) {
+                    keys.add(bucketKey(now.minus(age, ChronoUnit.HOURS)));
+                    weights[age] = window == Window.HOUR
+                            ? (age == 0 ? 1.0 : 1.0 - elapsedInHour)
+                            : Math.pow(0.5, age * 3600.0 / halfLife.toSeconds());
+                }
+                String target = WINDOW_PREFIX + window.name().toLowerCase();
+                redisTemplate.opsForZSet().unionAndStore(keys.get(0), keys.subList(1, keys.size()), target,
+                        Aggregate.SUM, Weights.of(weights));
+                trim(target);
+            }
+            trim(ALL_KEY);
+        } catch (Exception e) {
+            log.warn("인기 검색어 순위표 갱신 실패 - {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfMissing() {
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(ALL_KEY))) {
+                backfill();
+            }
+        } catch (Exception e) {
+            log.warn("인기 검색어 순위표 초기화 실패 - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * search_logs 에서 순위표 다시 만들기
+     * - 전체 누적은 일별 집계(경계 날짜 이전) + 원본 로그(경계 날짜부터) 합산 → 임시 키에 만든 뒤 RENAME 으로 교체
+     * - 최근 8일 시간 버킷도 같은 방식으로 교체
+     *
+     * @return 집계된 검색어 수
+     */
+    public int backfill() {
+        long started = System.currentTimeMillis();
+
+        // 1) 전체 누적
+        List<Document> totals = aggregateTotals();
+        replace(ALL_KEY, totals, null);
+
+        // 2) 최근 시간 버킷
+        List<Document> hourly = mongoTemplate.aggregate(Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("timestamp").gte(Instant.now().minus(BUCKET_TTL))),
+                Aggregation.project("query").and(DateOperators.DateToString.dateOf("timestamp")
+                        .toString("%Y%m%d%H").withTimezone(DateOperators.Timezone.valueOf("UTC"))).as("bucket"),
+                Aggregation.group("bucket", "query").count().as("count")
+        ), "search_logs", Document.class).getMappedResults();
+
+        Map<String, List<Document>> byBucket = new HashMap<>();
+        for (Document row : hourly) {
+            Document id = row.get("_id", Document.class);
+            byBucket.computeIfAbsent(id.getString("bucket"), b -> new ArrayList<>())
+                    .add(new Document("_id", id.get("query")).append("count", row.get("count")));
+        }
+        byBucket.forEach((bucket, rows) -> replace(BUCKET_PREFIX + bucket, rows, BUCKET_TTL));
+
+        refreshWindows();
+        log.info("인기 검색어 순위표 backfill 완료 - 검색어 {}개, 시간 버킷 {}개, {}ms",
+                totals.size(), byBucket.size(), System.currentTimeMillis() - started);
+        return totals.size();
+    }
+
+    /**
+     * 검색어별 전체 누적 횟수 (상위 maxEntries 개)
+     * - 원본 로그는 보관 기간이 지나면 삭제되므로, 경계 날짜 이전은 일별 집계 횟수를 $unionWith 로 합산
+     */
+    private List<Document> aggregateTotals() {
+        LocalDate cutoff = rollupService.dailyCutoff();
+        if (cutoff == null) {
+            return mongoTemplate.aggregate(Aggregation.newAggregation(
+                    Aggregation.group("query").count().as("count"),
+                    Aggregation.sort(Sort.Direction.DESC, "count"),
+                    Aggregation.limit(maxEntries)
+            ), "search_logs", Document.class).getMappedResults();
+        }
+
+        Instant rawFrom = cutoff.atStartOfDay(ZoneOffset.UTC).toInstant();
+        return mongoTemplate.aggregate(Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("day").lt(cutoff.toString())),
+                Aggregation.project("query", "count"),
+                UnionWithOperation.unionWith("search_logs").pipeline(
+                        Aggregation.match(Criteria.where("timestamp").gte(rawFrom)),
+                        Aggregation.project("query").and(LiteralOperators.Literal.asLiteral(1)).as("count")
+                ),
+                Aggregation.group("query").sum("count").as("count"),
+                Aggregation.sort(Sort.Direction.DESC, "count"),
+                Aggregation.limit(maxEntries)
+        ), "search_log_daily", Document.class).getMappedResults();
+    }
+
+    /**
+     * 집계 결과로 sorted set 교체 (임시 키에 채운 뒤 RENAME)
+     */
+    private void replace(String key, List<Document> rows, Duration ttl) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        for (Document row : rows) {
+            Object query = row.get("_id");
+            Number count = (Number) row.get("count");
+            if (query == null || count == null) continue;
+            String normalized = normalize(query.toString());
+            if (!normalized.isEmpty()) tuples.add(ZSetOperations.TypedTuple.of(normalized, count.doubleValue()));
+        }
+        if (tuples.isEmpty()) {
+            redisTemplate.delete(key);
+            return;
+        }
+        String temp = key + ":rebuild";
+        redisTemplate.delete(temp);
+        redisTemplate.opsForZSet().add(temp, tuples);
+        redisTemplate.rename(temp, key);
+        if (ttl != null) redisTemplate.expire(key, ttl);
+    }
+
+    /**
+     * 상위 maxEntries 개만 남김
+     */
+    private void trim(String key) {
+        redisTemplate.opsForZSet().removeRange(key, 0, -(long) maxEntries - 1);
+    }
+
+    private static String bucketKey(Instant timestamp) {
+        return BUCKET_PREFIX + BUCKET_FORMAT.format(timestamp);
+    }
+
+    private static String normalize(String query) {
+        return query == null ? "" : query.trim();
+    }
+}
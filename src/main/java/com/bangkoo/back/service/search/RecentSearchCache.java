@@ -0,0 +1,208 @@
+package com.bangkoo.back.service.search;
+
+import com.bangkoo.back.model.search.SearchLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 사용자별 최근 검색어 캐시 (Redis sorted set)
+ *
+ * - 키: recent:{userId}, 멤버 = 검색어, 점수 = 마지막 검색 시각(ms)
+ *   같은 검색어는 ZADD 로 시각만 갱신되므로 자동으로 중복 제거
+ * - 사용자별 최대 maxEntries 개만 유지, 마지막 사용 후 ttl 이 지나면 만료
+ * - Mongo(search_logs)가 원본이고, 키가 없으면 조회 시 Mongo 에서 다시 채움
+ *   → 기존 키가 있을 때만 새 검색어를 추가해 일부만 채워진 목록이 생기지 않게 함
+ * - 사용자별 버전(recent:v:{userId}) 은 로그 저장 / 삭제 때마다 INCR
+ *   → Mongo 를 읽기 전 버전과 채울 때 버전이 다르면 채우지 않음
+ *     (읽는 사이 저장된 검색어가 빠지거나 삭제된 검색어가 되살아난 목록이 캐시되지 않게)
+ */
+@Slf4j
+@Component
+public class RecentSearchCache {
+
+    private static final String KEY_PREFIX = "recent:";
+    private static final String VERSION_PREFIX = "recent:v:";
+
+    /**
+     * KEYS = 최근 검색어 키 n개 + 같은 순서의 버전 키 n개
+     * ARGV[1] = 최대 개수, ARGV[2] = ttl(초), 이후 (점수, 검색어) 쌍이 최근 검색어 키와 같은 순서로 반복
+     * 버전은 항상 올리고, 검색어는 키가 이미 있을 때만 추가
+     */
+    private static final RedisScript<Long> APPEND = new DefaultRedisScript<>("""
+            local max = tonumber(ARGV[1])
+            local n = #KEYS / 2
+            local touched = {}
+            local bumped = {}
+            for i = 1, n do
+              local key = KEYS[i]
+              local version = KEYS[n + i]
+              if not bumped[version] then
+                redis.call('INCR', version)
+                redis.call('EXPIRE', version, ARGV[2])
+                bumped[version] = true
+              end
+              if redis.call('EXISTS', key) == 1 then
+                redis.call('ZADD', key, ARGV[i * 2 + 1], ARGV[i * 2 + 2])
+                touched[key] = true
+              end
+            end
+            for key in pairs(touched) do
+              redis.call('ZREMRANGEBYRANK', key, 0, -max - 1)
+              redis.call('EXPIRE', key, ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * KEYS[1] = 최근 검색어 키, KEYS[2] = 버전 키
+     * ARGV[1] = 읽기 전 버전, ARGV[2] = 최대 개수, ARGV[3] = ttl(초), 이후 (점수, 검색어) 쌍
+     * 버전이 그대로일 때만 채움 (1 = 채움, 0 = 건너뜀)
+     */
+    private static final RedisScript<Long> FILL = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[2]) or '0'
+            if current ~= ARGV[1] then
+              return 0
+            end
+            for i = 4, #ARGV, 2 do
+              redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -tonumber(ARGV[2]) - 1)
+            redis.call('EXPIRE', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS[1] = 최근 검색어 키, KEYS[2] = 버전 키, ARGV[1] = ttl(초)
+     */
+    private static final RedisScript<Long> CLEAR = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final int maxEntries;
+    private final Duration ttl;
+
+    public RecentSearchCache(RedisTemplate<String, String> redisTemplate,
+                             @Value("${search.recent.max-entries:50}") int maxEntries,
+                             @Value("${search.recent.ttl:30d}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * 최근 검색어 조회
+     *
+     * @param limit 최대 개수 (maxEntries 보다 크면 maxEntries 개까지만 - 호출 측에서 Mongo 로 조회해야 함)
+     * @return 최신순 검색어 (캐시에 없으면 null)
+     */
+    public List<String> get(String userId, int limit) {
+        try {
+            Set<String> values = redisTemplate.opsForZSet().reverseRange(key(userId), 0, Math.min(limit, maxEntries) - 1);
+            return values == null || values.isEmpty() ? null : new ArrayList<>(values);
+        } catch (Exception e) {
+            log.warn("최근 검색어 캐시 조회 실패 - {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 현재 버전 (Mongo 를 읽기 전에 조회해 fill 에 넘김)
+     *
+     * @return 버전 (Redis 오류면 null → 채우지 않음)
+     */
+    public String version(String userId) {
+        try {
+            String version = redisTemplate.opsForValue().get(versionKey(userId));
+            return version == null ? "0" : version;
+        } catch (Exception e) {
+            log.warn("최근 검색어 캐시 버전 조회 실패 - {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Mongo 에서 읽은 최근 검색어로 캐시 채움 (그 사이 저장 / 삭제가 있었으면 건너뜀)
+     *
+     * @param version Mongo 를 읽기 전에 조회한 버전
+     * @param recent  검색어 → 마지막 검색 시각(ms)
+     */
+    public void fill(String userId, String version, Map<String, Long> recent) {
+        if (version == null || recent.isEmpty()) return;
+        List<String> args = new ArrayList<>(recent.size() * 2 + 3);
+        args.add(version);
+        args.add(String.valueOf(maxEntries));
+        args.add(String.valueOf(ttl.toSeconds()));
+        recent.forEach((query, at) -> {
+            args.add(String.valueOf(at));
+            args.add(query);
+        });
+        try {
+            redisTemplate.execute(FILL, List.of(key(userId), versionKey(userId)), args.toArray());
+        } catch (Exception e) {
+            log.warn("최근 검색어 캐시 저장 실패 - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 저장된 검색 로그 반영 (스크립트 한 번)
+     */
+    public void append(List<SearchLog> logs) {
+        if (logs.isEmpty()) return;
+        List<String> keys = new ArrayList<>(logs.size() * 2);
+        List<String> args = new ArrayList<>(logs.size() * 2 + 2);
+        args.add(String.valueOf(maxEntries));
+        args.add(String.valueOf(ttl.toSeconds()));
+        for (SearchLog searchLog : logs) {
+            keys.add(key(searchLog.getUser_id()));
+            args.add(String.valueOf(searchLog.getTimestamp().toEpochMilli()));
+            args.add(searchLog.getQuery());
+        }
+        for (SearchLog searchLog : logs) {
+            keys.add(versionKey(searchLog.getUser_id()));
+        }
+        try {
+            redisTemplate.execute(APPEND, keys, args.toArray());
+        } catch (Exception e) {
+            log.warn("최근 검색어 캐시 갱신 실패 - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 사용자 캐시 삭제 (검색어 개별 삭제 포함)
+     * - 버전도 올려 삭제 전에 Mongo 를 읽은 조회가 지운 검색어로 다시 채우지 못하게 함
+     * - 개별 삭제를 ZREM 으로 하면 Mongo 에 더 있는 검색어가 빠진 채 maxEntries 보다 적은 목록이 남으므로 키를 통째로 지우고
+     *   다음 조회 때 Mongo 에서 다시 채움
+     */
+    public void clear(String userId) {
+        try {
+            redisTemplate.execute(CLEAR, List.of(key(userId), versionKey(userId)), String.valueOf(ttl.toSeconds()));
+        } catch (Exception e) {
+            log.warn("최근 검색어 캐시 삭제 실패 - {}", e.getMessage());
+        }
+    }
+
+    private static String key(String userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static String versionKey(String userId) {
+        return VERSION_PREFIX + userId;
+    }
+}
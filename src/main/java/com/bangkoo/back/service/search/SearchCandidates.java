@@ -0,0 +1,132 @@
+package com.bangkoo.back.service.search;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * AI 서버 검색 응답(JSON 배열) 원문 바이트 + 후보별 위치
+ *
+ * - Jackson 스트리밍 파서로 한 번만 훑으면서 후보마다 바이트 구간과 '링크' 값만 기록
+ *   (Map / String 으로 변환하지 않음)
+ * - 순서를 바꾸지 않으면 원문 바이트를 그대로 응답, 바꾸면 구간만 이어 붙임
+ * - 최상위가 배열이 아니면 후보 0개로 보고 원문 그대로 전달
+ */
+public final class SearchCandidates {
+
+    private static final String ID_FIELD = "링크";
+
+    private final byte[] body;
+    private final int[] starts;
+    private final int[] ends;
+    private final List<String> ids;
+
+    private SearchCandidates(byte[] body, int[] starts, int[] ends, List<String> ids) {
+        this.body = body;
+        this.starts = starts;
+        this.ends = ends;
+        this.ids = ids;
+    }
+
+    /**
+     * 응답 바이트 분석
+     */
+    public static SearchCandidates parse(JsonFactory factory, byte[] body) throws IOException {
+        if (body == null) body = new byte[0];
+
+        List<String> ids = new ArrayList<>();
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+
+        try (JsonParser parser = factory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return new SearchCandidates(body, new int[0], new int[0], List.of());
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                int index = ids.size();
+                if (index == starts.length) {
+                    starts = Arrays.copyOf(starts, index * 2);
+                    ends = Arrays.copyOf(ends, index * 2);
+                }
+                starts[index] = (int) parser.currentTokenLocation().getByteOffset();
+                ids.add(token == JsonToken.START_OBJECT ? readId(parser) : skip(parser));
+                ends[index] = (int) parser.currentLocation().getByteOffset();
+            }
+        }
+        return new SearchCandidates(body, starts, ends, Collections.unmodifiableList(ids));
+    }
+
+    /**
+     * 후보 객체를 끝까지 읽으며 최상위 '링크' 값만 추출 (중첩 값은 건너뜀)
+     */
+    private static String readId(JsonParser parser) throws IOException {
+        String id = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (ID_FIELD.equals(field) && value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                id = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return id;
+    }
+
+    private static String skip(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        parser.finishToken(); // 문자열 값은 끝 따옴표까지 읽어야 구간 끝 위치가 맞음
+        return null;
+    }
+
+    /**
+     * 후보 ID 목록 (응답 순서, '링크' 가 없는 후보는 null)
+     */
+    public List<String> ids() {
+        return ids;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * 원문 그대로
+     */
+    public byte[] body() {
+        return body;
+    }
+
+    /**
+     * 순서를 바꾼 JSON 배열 (order[i] = i 번째로 보낼 원래 위치)
+     * order 가 null 이거나 원래 순서면 원문 그대로 반환
+     */
+    public byte[] reorder(int[] order) {
+        if (order == null || isIdentity(order)) return body;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length);
+        out.write('[');
+        for (int i = 0; i < order.length; i++) {
+            if (i > 0) out.write(',');
+            int index = order[i];
+            out.write(body, starts[index], ends[index] - starts[index]);
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private static boolean isIdentity(int[] order) {
+        for (int i = 0; i < order.length; i++) {
+            if (order[i] != i) return false;
+        }
+        return true;
+    }
+}
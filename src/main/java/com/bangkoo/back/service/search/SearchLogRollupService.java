@@ -0,0 +1,135 @@
+package com.bangkoo.back.service.search;
+
+import com.bangkoo.back.config.properites.SearchLogProperties;
+import com.bangkoo.back.model.search.SearchLog;
+import com.bangkoo.back.model.search.SearchLogDaily;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * 검색 로그 일별 집계 (search_logs → search_log_daily)
+ *
+ * - 매일 00:10(UTC) 에 마지막 집계일(watermark) 다음 날부터 어제까지 하루씩 집계
+ * - 날짜 × 검색어 단위로 횟수 / 사용자 수를 $merge 로 덮어씀 → 같은 날을 다시 돌려도 결과 동일
+ * - 원본 로그는 TTL 인덱스(search.log.retention)로 삭제되므로 오래된 통계는 일별 집계에서 조회
+ *   (인기 검색어 backfill 은 dailyCutoff() 이전 날짜를 일별 집계로, 이후를 원본 로그로 합산)
+ */
+@Slf4j
+@Service
+public class SearchLogRollupService {
+
+    private static final String STATE_COLLECTION = "maintenance_state";
+    private static final String STATE_ID = "search_log_rollup";
+
+    private final MongoTemplate mongoTemplate;
+    private final SearchLogProperties properties;
+
+    public SearchLogRollupService(MongoTemplate mongoTemplate, SearchLogProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "0 10 0 * * *", zone = "UTC")
+    public void rollup() {
+        if (!properties.isRollupEnabled()) return;
+        try {
+            LocalDate yesterday = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+            LocalDate day = nextDay();
+            int days = 0;
+            while (day != null && !day.isAfter(yesterday)) {
+                rollup(day);
+                saveWatermark(day);
+                day = day.plusDays(1);
+                days++;
+            }
+            if (days > 0) log.info("검색 로그 일별 집계 완료 - {}일", days);
+        } catch (Exception e) {
+            log.warn("검색 로그 일별 집계 실패, 다음 실행 때 이어서 처리: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 하루치 집계
+     */
+    void rollup(LocalDate day) {
+        Instant from = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant to = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        String dayText = day.toString();
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("timestamp").gte(from).lt(to)),
+                Aggregation.group("query").count().as("count").addToSet("user_id").as("userIds"),
+                Aggregation.project("count")
+                        .and("_id").as("query")
+                        .and(ArrayOperators.Size.lengthOfArray("userIds")).as("users")
+                        .and(StringOperators.Concat.stringValue(dayText + "|").concatValueOf("_id")).as("_id")
+                        .and(LiteralOperators.Literal.asLiteral(dayText)).as("day"),
+                new MergeOperation.MergeOperationBuilder()
+                        .intoCollection(mongoTemplate.getCollectionName(SearchLogDaily.class))
+                        .whenMatched(MergeOperation.WhenDocumentsMatch.replaceDocument())
+                        .whenDocumentsDontMatch(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                        .build()
+        );
+        mongoTemplate.aggregate(aggregation, SearchLog.class, Document.class);
+    }
+
+    /**
+     * 일별 집계 / 원본 로그 경계 날짜
+     * - 이 날짜 이전은 search_log_daily, 이 날짜부터는 search_logs 에서 읽으면 빠짐없이 한 번씩 집계됨
+     * - 가장 오래된 원본 로그의 날짜는 TTL 로 일부만 남아 있을 수 있으므로, 집계가 끝난 날이면 일별 집계를 사용
+     *
+     * @return 경계 날짜 (집계된 날이 없으면 null → 원본 로그만 사용)
+     */
+    public LocalDate dailyCutoff() {
+        LocalDate lastDay = lastDay();
+        if (lastDay == null) return null;
+        LocalDate oldest = oldestLogDay();
+        return oldest != null && oldest.isBefore(lastDay) ? oldest.plusDays(1) : lastDay.plusDays(1);
+    }
+
+    /**
+     * 다음에 집계할 날짜 (처음이면 가장 오래된 로그 날짜, 로그가 없으면 null)
+     */
+    private LocalDate nextDay() {
+        LocalDate lastDay = lastDay();
+        return lastDay != null ? lastDay.plusDays(1) : oldestLogDay();
+    }
+
+    /**
+     * 마지막으로 집계한 날짜 (watermark, 없으면 null)
+     */
+    private LocalDate lastDay() {
+        Document state = mongoTemplate.findById(STATE_ID, Document.class, STATE_COLLECTION);
+        return state == null || state.getString("lastDay") == null ? null : LocalDate.parse(state.getString("lastDay"));
+    }
+
+    private LocalDate oldestLogDay() {
+        Query oldest = new Query().with(Sort.by(Sort.Direction.ASC, "timestamp")).limit(1);
+        oldest.fields().include("timestamp");
+        SearchLog first = mongoTemplate.findOne(oldest, SearchLog.class);
+        return first == null || first.getTimestamp() == null ? null
+                : LocalDate.ofInstant(first.getTimestamp(), ZoneOffset.UTC);
+    }
+
+    private void saveWatermark(LocalDate day) {
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(STATE_ID)),
+                new Update().set("lastDay", day.toString()).set("updatedAt", Instant.now()),
+                STATE_COLLECTION);
+    }
+}
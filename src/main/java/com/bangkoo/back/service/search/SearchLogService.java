@@ -3,15 +3,18 @@ package com.bangkoo.back.service.search;
 import com.bangkoo.back.dto.search.PopularSearchDTO;
 import com.bangkoo.back.model.search.SearchLog;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.query.*;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -21,8 +24,8 @@ import java.util.stream.Collectors;
  *  * 검색 로그 관련 비즈니스 로직 처리 서비스
  *
  * - 검색어 저장
- * - 사용자별 최근 검색어 조회
- * - 인기 검색어 집계 조회
+ * - 사용자별 최근 검색어 조회 (Redis 캐시 우선)
+ * - 인기 검색어 조회 (PopularSearchService 의 Redis 순위표)
  * - 검색 기록 전체/개별 삭제
  */
 @Service
@@ -30,9 +33,13 @@ import java.util.stream.Collectors;
 public class SearchLogService {
 
     private final MongoTemplate mongoTemplate;
+    private final PopularSearchService popularSearchService;
+    private final SearchLogWriter searchLogWriter;
+    private final RecentSearchCache recentSearchCache;
 
     /**
      * 검색어 저장 (로그인 사용자만 저장)
+     * - 대기열에 넣고 바로 반환, 실제 저장과 인기 검색어 집계는 SearchLogWriter 가 묶어서 처리
      *
      * @param query  사용자가 검색한 쿼리
      * @param userId 사용자 ID (anonymous 제외)
@@ -46,63 +53,82 @@ public class SearchLogService {
         log.setUser_id(userId);
         log.setTimestamp(Instant.now());
         log.setSource(source);
-        mongoTemplate.insert(log);
+        searchLogWriter.enqueue(log);
     }
 
     /**
      * 사용자별 최근 검색어 조회
+     * - Redis 캐시(RecentSearchCache)에서 한 번에 조회, 없으면 Mongo 에서 읽어 캐시를 채움
+     * - 같은 검색어는 가장 최근 한 번만 포함하고 limit 개를 정확히 채워 반환 (기록이 그보다 적으면 전부)
+     * - 캐시는 사용자별 search.recent.max-entries 개만 들고 있으므로 limit 이 그보다 크면 Mongo 에서 바로 조회
      *
      * @param userId 사용자 ID
      * @param limit  최대 개수 (최근 N개)
      * @return 최근 검색어 문자열 리스트
      */
     public List<String> getRecentSearches(String userId, int limit) {
-        if (userId == null) return List.of();
+        if (userId == null || limit <= 0) return List.of();
 
-        Query query = new Query(Criteria.where("user_id").is(userId))
-                .with(Sort.by(Sort.Direction.DESC, "timestamp"))
-                .limit(limit);
+        boolean cacheable = limit <= recentSearchCache.getMaxEntries();
+        if (cacheable) {
+            List<String> cached = recentSearchCache.get(userId, limit);
+            if (cached != null) return cached;
+        }
 
-        return mongoTemplate.find(query, SearchLog.class)
-                .stream()
-                .map(SearchLog::getQuery)
-                .distinct()
-                .collect(Collectors.toList());
-    }
+        // Mongo 를 읽기 전 캐시 버전 (읽는 사이 저장 / 삭제가 있으면 캐시를 채우지 않음)
+        String cacheVersion = recentSearchCache.version(userId);
 
-    /**
-     * 전체 사용자 기준 인기 검색어 조회
-     *
-     * @param limit 최대 개수
-     * @return query + count 정보를 담은 DTO 리스트
-     */
-    public List<PopularSearchDTO> getPopularSearches(int limit) {
+        // 검색어별 마지막 검색 시각 (user_timestamp_query 인덱스로 처리)
         Aggregation aggregation = Aggregation.newAggregation(
-                Aggregation.group("query").count().as("count"),
-                Aggregation.sort(Sort.Direction.DESC, "count"),
-                Aggregation.limit(limit),
-                Aggregation.project("count").and("_id").as("query")
+                Aggregation.match(Criteria.where("user_id").is(userId)),
+                Aggregation.sort(Sort.Direction.DESC, "timestamp"),
+                Aggregation.group("query").first("timestamp").as("timestamp"),
+                Aggregation.sort(Sort.Direction.DESC, "timestamp"),
+                Aggregation.limit(Math.max(limit, recentSearchCache.getMaxEntries()))
         );
+        List<Document> rows = mongoTemplate.aggregate(aggregation, SearchLog.class, Document.class).getMappedResults();
 
-        AggregationResults<PopularSearchDTO> results =
-                mongoTemplate.aggregate(aggregation, "search_logs", PopularSearchDTO.class);
+        Map<String, Long> recent = new LinkedHashMap<>();
+        for (Document row : rows) {
+            Object query = row.get("_id");
+            Date timestamp = row.getDate("timestamp");
+            if (query != null && timestamp != null) recent.put(query.toString(), timestamp.getTime());
+        }
+        recentSearchCache.fill(userId, cacheVersion, recent); // 캐시에는 최근 max-entries 개만 남음
 
-        return results.getMappedResults();
+        return recent.keySet().stream().limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * 전체 사용자 기준 인기 검색어 조회 (Redis 순위표)
+     *
+     * @param window 조회 기간 (hour / day / week / all)
+     * @param limit  최대 개수
+     * @return query + count 정보를 담은 DTO 리스트 (hour/day/week 는 감쇠 가중치를 반영한 횟수)
+     */
+    public List<PopularSearchDTO> getPopularSearches(PopularSearchService.Window window, int limit) {
+        return popularSearchService.getPopular(window, limit);
     }
 
     /**
      * 사용자별 전체 검색어 기록 삭제
+     * - 아직 저장 대기 중인 로그도 함께 버림 (SearchLogWriter.discard)
      *
      * @param userId 사용자 ID
      * @return 삭제된 문서 개수
      */
     public long deleteAll(String userId) {
         Query query = new Query(Criteria.where("user_id").is(userId));
-        return mongoTemplate.remove(query, "search_logs").getDeletedCount();
+        return searchLogWriter.discard(userId, null, () -> {
+            long deleted = mongoTemplate.remove(query, "search_logs").getDeletedCount();
+            recentSearchCache.clear(userId);
+            return deleted;
+        });
     }
 
     /**
      * 사용자별 특정 검색어 삭제
+     * - 아직 저장 대기 중인 같은 검색어 로그도 함께 버림 (SearchLogWriter.discard)
      *
      * @param userId    사용자 ID
      * @param queryText 삭제할 검색어
@@ -110,6 +136,10 @@ public class SearchLogService {
      */
     public long deleteOne(String userId, String queryText) {
         Query query = new Query(Criteria.where("user_id").is(userId).and("query").is(queryText));
-        return mongoTemplate.remove(query, "search_logs").getDeletedCount();
+        return searchLogWriter.discard(userId, queryText, () -> {
+            long deleted = mongoTemplate.remove(query, "search_logs").getDeletedCount();
+            recentSearchCache.clear(userId);
+            return deleted;
+        });
     }
 }
@@ -0,0 +1,283 @@
+package com.bangkoo.back.service.search;
+
+import com.bangkoo.back.config.properites.SearchLogProperties;
+import com.bangkoo.back.model.search.SearchLog;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 검색 로그 비동기 저장
+ *
+ * - 검색 요청 스레드는 큐에 넣기만 하고 바로 반환 → 검색 지연이 search_logs 쓰기 지연과 무관
+ * - 전용 스레드 1개가 큐에서 최대 batchSize 개씩 꺼내 순서 무관(unordered) bulk insert 한 번으로 저장 후 인기 검색어 / 최근 검색어 갱신
+ *   → 문서 하나가 거부돼도 나머지는 저장되고, 저장된 로그만 집계에 반영
+ * - 큐가 가득 차면 overflow 설정에 따라 바로 버리거나(DROP) blockTimeout 까지 기다린 뒤 버림(BLOCK)
+ * - 저장 실패(연결 / 타임아웃 등) 시 writeRetries 번까지 배치를 다시 시도, 모두 실패하면 배치 전체를 dropped 로 집계
+ *   문서별로 거부된 로그는 다시 시도해도 같으므로 바로 dropped 로 집계
+ *   (_id 를 미리 정해 두어 재시도로 같은 로그가 두 번 저장되지 않음)
+ * - 서버 종료 시 남은 로그를 shutdownTimeout 안에서 모두 저장
+ * - 검색 기록 삭제는 discard() 로 → 대기 중인 같은 검색어를 버리고 저장 중인 배치가 끝난 뒤 삭제 (삭제한 검색어가 되살아나지 않게)
+ * - 지표: search.log.queue.depth, search.log.written, search.log.dropped, search.log.write(시간), search.log.write.failures
+ */
+@Slf4j
+@Component
+public class SearchLogWriter {
+
+    /** 같은 _id 가 이미 있음 (이전 시도에서 저장됨) */
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final PopularSearchService popularSearchService;
+    private final RecentSearchCache recentSearchCache;
+    private final SearchLogProperties properties;
+    private final BlockingQueue<SearchLog> queue;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    // 배치 저장과 삭제를 하나씩 실행 (synchronized 대신: 가상 스레드가 Mongo 대기 중 캐리어 스레드를 붙잡지 않도록)
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // 마지막 배치 저장 이후 삭제 요청 (큐에서 이미 꺼낸 배치에서도 걸러내기 위함, writeLock 안에서만 접근)
+    private final List<Discard> discards = new ArrayList<>();
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failures;
+    private final Timer writeTimer;
+
+    public SearchLogWriter(MongoTemplate mongoTemplate,
+                           PopularSearchService popularSearchService,
+                           RecentSearchCache recentSearchCache,
+                           SearchLogProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.popularSearchService = popularSearchService;
+        this.recentSearchCache = recentSearchCache;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+
+        this.written = Counter.builder("search.log.written").register(meterRegistry);
+        this.dropped = Counter.builder("search.log.dropped")
+                .description("큐가 가득 차거나 저장에 실패해 버린 검색 로그 수")
+                .register(meterRegistry);
+        this.failures = Counter.builder("search.log.write.failures")
+                .description("bulk insert 실패 횟수 (재시도 포함)")
+                .register(meterRegistry);
+        this.writeTimer = Timer.builder("search.log.write")
+                .description("검색 로그 bulk insert 시간")
+                .register(meterRegistry);
+        Gauge.builder("search.log.queue.depth", queue, BlockingQueue::size)
+                .description("저장 대기 중인 검색 로그 수")
+                .register(meterRegistry);
+
+        this.worker = new Thread(this::drainLoop, "search-log-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 저장 대기열에 추가
+     *
+     * @return 대기열에 들어갔으면 true, 넘쳐서 버렸으면 false
+     */
+    public boolean enqueue(SearchLog searchLog) {
+        boolean accepted;
+        if (properties.getOverflow() == SearchLogProperties.Overflow.BLOCK) {
+            try {
+                accepted = queue.offer(searchLog, properties.getBlockTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = queue.offer(searchLog);
+        }
+        if (!accepted) dropped.increment();
+        return accepted;
+    }
+
+    private void drainLoop() {
+        List<SearchLog> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                SearchLog first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // 첫 로그 후 linger 동안 batchSize 까지 채움
+                long deadline = System.nanoTime() + properties.getLinger().toNanos();
+                while (batch.size() < properties.getBatchSize()) {
+                    queue.drainTo(batch, properties.getBatchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= properties.getBatchSize() || remaining <= 0 || !running) break;
+                    SearchLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                write(batch);
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 검색 기록 삭제 전 대기 중인 로그 버리기
+     * - 큐에 남은 userId 의 query(null 이면 전체) 로그를 지우고, 큐에서 이미 꺼낸 배치에서도 걸러냄
+     * - 저장 중인 배치가 끝난 뒤 remover 실행, 실행하는 동안 다음 배치는 저장하지 않음
+     *
+     * @param remover Mongo / 캐시 삭제
+     * @return remover 결과
+     */
+    public <T> T discard(String userId, String query, Supplier<T> remover) {
+        Discard discard = new Discard(userId, query, Instant.now());
+        writeLock.lock();
+        try {
+            queue.removeIf(discard::matches);
+            discards.add(discard);
+            return remover.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void write(List<SearchLog> batch) {
+        writeLock.lock();
+        try {
+            if (!discards.isEmpty()) {
+                batch.removeIf(searchLog -> discards.stream().anyMatch(discard -> discard.matches(searchLog)));
+                discards.clear();
+            }
+            insert(batch);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void insert(List<SearchLog> batch) {
+        if (batch.isEmpty()) return;
+        List<SearchLog> saved = save(batch);
+        if (saved.isEmpty()) return;
+
+        List<Map.Entry<String, Instant>> searches = new ArrayList<>(saved.size());
+        for (SearchLog searchLog : saved) {
+            searches.add(Map.entry(searchLog.getQuery(), searchLog.getTimestamp()));
+        }
+        popularSearchService.record(searches);
+        recentSearchCache.append(saved);
+    }
+
+    /**
+     * 배치 저장 (unordered bulk insert)
+     * - 연결 / 타임아웃 등으로 실패하면 retryBackoff × 시도 횟수만큼 쉬고 writeRetries 번까지 다시 시도
+     * - 문서별 오류면 나머지는 저장된 것이므로 다시 시도하지 않음
+     *   (중복 키 = 이전 시도에서 이미 저장된 로그 → 저장으로 봄, 그 외는 버림)
+     *
+     * @return 저장된 로그
+     */
+    private List<SearchLog> save(List<SearchLog> batch) {
+        // 일부만 저장된 뒤 실패해도 재시도에서 새 _id 로 중복 저장되지 않도록 미리 정함
+        for (SearchLog searchLog : batch) {
+            if (searchLog.getId() == null) searchLog.setId(new ObjectId().toHexString());
+        }
+
+        List<SearchLog> saved = new ArrayList<>(batch.size());
+        int retries = Math.max(0, properties.getWriteRetries());
+        for (int attempt = 0; ; attempt++) {
+            try {
+                writeTimer.record(() -> mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchLog.class)
+                        .insert(batch)
+                        .execute());
+                saved.addAll(batch);
+                break;
+            } catch (BulkOperationException e) {
+                failures.increment();
+                Set<Integer> rejected = new HashSet<>();
+                for (BulkWriteError error : e.getErrors()) {
+                    if (error.getCode() != DUPLICATE_KEY) rejected.add(error.getIndex());
+                }
+                for (int i = 0; i < batch.size(); i++) {
+                    if (!rejected.contains(i)) saved.add(batch.get(i));
+                }
+                if (!rejected.isEmpty()) {
+                    dropped.increment(rejected.size());
+                    log.warn("검색 로그 일부 저장 실패, 버림 - {}/{}건: {}", rejected.size(), batch.size(), e.getMessage());
+                }
+                break;
+            } catch (Exception e) {
+                failures.increment();
+                if (attempt >= retries || !backoff(attempt + 1)) {
+                    dropped.increment(batch.size());
+                    log.warn("검색 로그 저장 실패, 버림 - {}건: {}", batch.size(), e.getMessage());
+                    break;
+                }
+                log.warn("검색 로그 저장 실패, 다시 시도 ({}/{}) - {}건: {}", attempt + 1, retries, batch.size(), e.getMessage());
+            }
+        }
+        written.increment(saved.size());
+        return saved;
+    }
+
+    /**
+     * @return 기다렸으면 true, 중단(interrupt)됐으면 false
+     */
+    private boolean backoff(int attempt) {
+        try {
+            Thread.sleep(properties.getRetryBackoff().multipliedBy(attempt));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 저장 중인 bulk insert 가 끊기지 않도록 interrupt 없이 종료 신호만 줌 (poll 은 최대 1초 대기)
+        running = false;
+        try {
+            worker.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive() || !queue.isEmpty()) {
+            log.warn("종료 시간 안에 저장하지 못한 검색 로그 - {}건", queue.size());
+        }
+    }
+
+    /**
+     * 삭제 요청 (at 이전에 만들어진 로그만 해당 → 삭제 직후 다시 검색한 로그는 유지)
+     */
+    private record Discard(String userId, String query, Instant at) {
+        boolean matches(SearchLog searchLog) {
+            return userId.equals(searchLog.getUser_id())
+                    && (query == null || query.equals(searchLog.getQuery()))
+                    && !searchLog.getTimestamp().isAfter(at);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.bangkoo.back.service.search;
+
+import com.bangkoo.back.config.properites.SearchCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * AI 검색 결과 캐시 (JVM 내 Caffeine → Redis → AI 서버)
+ *
+ * - 키: search:{세대}:{SHA-256(정규화 쿼리 | 이미지 해시 | 이미지 URL | 사용자 구분)}
+ *   이미지 파일은 내용 해시, 쿼리는 NFC + 소문자 + 공백 정리
+ * - 값: AI 서버 응답 원문 바이트 (재정렬 / 노출 집계는 캐시 뒤에서 요청마다 수행)
+ * - 같은 키의 동시 요청은 먼저 온 요청의 결과를 함께 기다림 (AI 서버 호출 1회)
+ * - 제품 추가/수정/삭제 시 세대 번호를 올려 기존 캐시 전체를 무효화
+ *   다른 서버는 1초 주기로 세대 번호를 읽어 반영
+ * - 지표: search.cache.requests{tier=local|redis, result=hit|miss}, search.cache.coalesced, cache.* {cache=search-result}
+ */
+@Slf4j
+@Component
+public class SearchResultCache {
+
+    private static final String GENERATION_KEY = "search:cache:generation";
+
+    /**
+     * 캐시 미스 시 실제 검색
+     */
+    @FunctionalInterface
+    public interface Loader {
+        byte[] load() throws IOException;
+    }
+
+    private final SearchCacheProperties properties;
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final AsyncCache<String, byte[]> local;
+
+    private volatile long generation;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter coalesced;
+
+    public SearchResultCache(SearchCacheProperties properties,
+                             RedisTemplate<String, byte[]> binaryRedisTemplate,
+                             RedisTemplate<String, String> redisTemplate,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.binaryRedisTemplate = binaryRedisTemplate;
+        this.redisTemplate = redisTemplate;
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(properties.getLocalMaxBytes())
+                .weigher((String key, byte[] value) -> value.length)
+                .expireAfterWrite(properties.getLocalTtl())
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local.synchronous(), "search-result");
+        this.localHits = counter(meterRegistry, "local", "hit");
+        this.localMisses = counter(meterRegistry, "local", "miss");
+        this.redisHits = counter(meterRegistry, "redis", "hit");
+        this.redisMisses = counter(meterRegistry, "redis", "miss");
+        this.coalesced = Counter.builder("search.cache.coalesced")
+                .description("진행 중인 같은 검색 결과를 함께 기다린 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 검색 결과를 사용자별로 개인화해도 되는지 여부
+     * - 캐시가 켜져 있고 segment 가 USER 가 아니면 여러 사용자가 같은 항목을 공유하므로 user_id 를 AI 서버에 보내면 안 됨
+     */
+    public boolean isPersonalized() {
+        return !properties.isEnabled() || properties.getSegment() == SearchCacheProperties.Segment.USER;
+    }
+
+    /**
+     * 캐시 키 생성
+     *
+     * @param query    검색어 (선택)
+     * @param image    업로드 이미지 (선택)
+     * @param imageUrl 이미지 URL (선택)
+     * @param userId   사용자 ID (선택)
+     */
+    public String key(String query, MultipartFile image, String imageUrl, String userId) throws IOException {
+        String normalizedQuery = query == null ? ""
+                : Normalizer.normalize(query, Normalizer.Form.NFC).replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT);
+        String imageHash = "";
+        if (image != null && !image.isEmpty()) {
+            try (InputStream in = image.getInputStream()) {
+                MessageDigest digest = sha256();
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+                imageHash = HexFormat.of().formatHex(digest.digest());
+            }
+        }
+        String url = imageUrl == null ? "" : imageUrl.trim();
+        String segment = switch (properties.getSegment()) {
+            case NONE -> "";
+            case LOGIN -> userId == null || userId.isEmpty() ? "anon" : "user";
+            case USER -> userId == null || userId.isEmpty() ? "anon" : "u:" + userId;
+        };
+        String raw = normalizedQuery + '\n' + imageHash + '\n' + url + '\n' + segment;
+        return HexFormat.of().formatHex(sha256().digest(raw.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 캐시 조회 (없으면 loader 로 검색 후 저장, 같은 키의 동시 요청은 한 번만 검색)
+     */
+    public byte[] get(String key, Loader loader) throws IOException {
+        if (!properties.isEnabled()) {
+            return loader.load();
+        }
+
+        String fullKey = "search:" + generation + ":" + key;
+        CompletableFuture<byte[]> mine = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = local.asMap().putIfAbsent(fullKey, mine);
+        if (existing != null) {
+            if (existing.isDone()) localHits.increment();
+            else coalesced.increment();
+            return join(existing);
+        }
+        localMisses.increment();
+
+        // 이 요청이 대표로 조회 (실패하면 Caffeine 이 해당 항목을 자동 제거)
+        try {
+            byte[] value = loadFromRedis(fullKey);
+            if (value == null) {
+                value = loader.load();
+                saveToRedis(fullKey, value);
+            }
+            mine.complete(value);
+            return value;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 검색 결과 전체 무효화 (제품 변경 시)
+     */
+    public void invalidateAll() {
+        local.synchronous().invalidateAll();
+        try {
+            Long next = redisTemplate.opsForValue().increment(GENERATION_KEY);
+            if (next != null) generation = next;
+        } catch (Exception e) {
+            generation++;
+            log.warn("검색 캐시 세대 갱신 실패 (이 서버만 무효화) - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 서버의 무효화 반영
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void syncGeneration() {
+        if (!properties.isEnabled() || !properties.isRedisEnabled()) return;
+        try {
+            String value = redisTemplate.opsForValue().get(GENERATION_KEY);
+            long current = value == null ? 0 : Long.parseLong(value);
+            if (current != generation) {
+                generation = current;
+                local.synchronous().invalidateAll();
+            }
+        } catch (Exception e) {
+            log.debug("검색 캐시 세대 조회 실패 - {}", e.getMessage());
+        }
+    }
+
+    private byte[] loadFromRedis(String fullKey) {
+        if (!properties.isRedisEnabled()) return null;
+        try {
+            byte[] value = binaryRedisTemplate.opsForValue().get(fullKey);
+            (value != null ? redisHits : redisMisses).increment();
+            return value;
+        } catch (Exception e) {
+            log.warn("검색 캐시 Redis 조회 실패 - {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void saveToRedis(String fullKey, byte[] value) {
+        if (!properties.isRedisEnabled() || value == null) return;
+        try {
+            binaryRedisTemplate.opsForValue().set(fullKey, value, properties.getTtl());
+        } catch (Exception e) {
+            log.warn("검색 캐시 Redis 저장 실패 - {}", e.getMessage());
+        }
+    }
+
+    private static byte[] join(CompletableFuture<byte[]> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof UncheckedIOException io) throw io.getCause();
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("search.cache.requests")
+                .description("검색 결과 캐시 조회 결과")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+}
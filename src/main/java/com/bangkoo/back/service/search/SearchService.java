@@ -10,11 +10,8 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
-import com.fasterxml.jackson.core.type.TypeReference;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.Map;
 
 /**
  * 최초 작성자: 김동규
@@ -33,6 +30,12 @@ public class SearchService {
     @Autowired
     private CandidateFeedbackService feedbackService;
 
+    @Autowired
+    private CtrRankingService rankingService;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -47,7 +50,7 @@ public class SearchService {
      * 이미지와 쿼리를 받아 /search 통합 API 호출
      * 이미지가 없으면 텍스트 기반 검색, 쿼리에 따라 추천/검색 자동 분기
      */
-    public String recommendOrSearch(
+    public byte[] recommendOrSearch(
             MultipartFile image,
             String query,
             String image_url,
@@ -60,6 +63,26 @@ public class SearchService {
             searchLogService.saveSearchLog(query, userId, source);
         }
 
+        // 1) AI 서버 호출 (같은 검색은 캐시 / 진행 중인 요청 결과 공유)
+        byte[] resultJson = searchResultCache.get(
+                searchResultCache.key(query, image, image_url, userId),
+                () -> callSearchApi(image, query, image_url, userId));
+
+        // 2) 스트리밍 파서로 후보 위치와 '링크' 만 추출
+        SearchCandidates candidates = SearchCandidates.parse(objectMapper.getFactory(), resultJson);
+
+        // 3) 인상 로그 저장 (userId 포함)
+        feedbackService.saveImpressions(candidates.ids(), userId);
+
+        // 4) CTR 재정렬 (실험 그룹이 아니거나 순서가 그대로면 원본 바이트 그대로 반환)
+        return candidates.reorder(rankingService.rank(candidates.ids(), userId));
+
+    }
+
+    /**
+     * FastAPI /search 호출 (응답은 문자열로 디코딩하지 않고 바이트 그대로 받음)
+     */
+    private byte[] callSearchApi(MultipartFile image, String query, String image_url, String userId) throws IOException {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.MULTIPART_FORM_DATA);
 
@@ -74,7 +97,8 @@ public class SearchService {
             body.add("image_url", image_url);
         }
 
-        if (userId != null && !userId.isEmpty()) {
+        // 사용자 간에 공유되는 캐시 항목에는 개인화 결과가 들어가지 않도록 (search.cache.segment)
+        if (userId != null && !userId.isEmpty() && searchResultCache.isPersonalized()) {
             body.add("user_id", userId);
         }
 
@@ -83,20 +107,6 @@ public class SearchService {
         HttpEntity<MultiValueMap<String, Object>> request = new HttpEntity<>(body, headers);
         String fastapiUrl = aiServerUrl + "/search";
 
-        // 1) AI 서버 호출
-        String resultJson = restTemplate.postForObject(fastapiUrl, request, String.class);
-
-        // 2) JSON 파싱 → List<Map<String,Object>>
-        List<Map<String,Object>> candidates = objectMapper.readValue(
-                resultJson,
-                new TypeReference<List<Map<String,Object>>>() {}
-        );
-
-        // 3) 인상 로그 저장 (userId 포함)
-        feedbackService.saveImpressions(candidates, userId);
-
-        // 4) 원본 JSON 그대로 반환
-        return resultJson;
-
+        return restTemplate.postForObject(fastapiUrl, request, byte[].class);
     }
 }
@@ -0,0 +1,186 @@
+package com.bangkoo.back.service.search;
+
+import com.bangkoo.back.dto.search.PopularSearchDTO;
+import com.bangkoo.back.dto.search.SuggestionDTO;
+import com.bangkoo.back.model.product.Product;
+import com.bangkoo.back.service.search.suggest.Suggestion;
+import com.bangkoo.back.service.search.suggest.SuggestionTrie;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 검색어 자동완성
+ *
+ * - 제품명 + 인기 검색어로 SuggestionTrie 를 만들어 메모리에서 조회 (Mongo 조회 없음)
+ * - 주기적으로 새 트리를 만들어 통째로 교체 (인기 검색어 순위 반영)
+ * - 제품 추가/수정/삭제는 현재 트리에 바로 반영
+ *   갱신 중에 들어온 변경은 기록해 두었다가 새 트리로 교체하기 직전에 다시 적용 (교체로 사라지지 않게)
+ * - 가중치: 인기 검색어 = 검색 횟수, 제품명 = search.suggest.product-weight
+ */
+@Slf4j
+@Service
+public class SuggestionService {
+
+    private static final int TOP_K = 20;
+    private static final int MAX_DEPTH = 32;
+    private static final int MAX_WORD_STARTS = 4;
+
+    private final MongoTemplate mongoTemplate;
+    private final PopularSearchService popularSearchService;
+    private final double productWeight;
+    private final int maxQueries;
+    private final Timer suggestTimer;
+
+    private volatile SuggestionTrie trie = new SuggestionTrie(TOP_K, MAX_DEPTH, MAX_WORD_STARTS);
+
+    // synchronized 대신 사용: 갱신 중 Mongo 조회를 기다리는 가상 스레드가 캐리어 스레드를 붙잡지 않도록
+    private final ReentrantLock refreshLock = new ReentrantLock();   // 갱신은 한 번에 하나씩
+    private final ReentrantLock changeLock = new ReentrantLock();    // 제품 변경 적용 / 트리 교체
+    private List<Consumer<SuggestionTrie>> changesDuringRefresh;     // 갱신 중 들어온 제품 변경 (changeLock 안에서만 접근)
+
+    public SuggestionService(MongoTemplate mongoTemplate,
+                             PopularSearchService popularSearchService,
+                             MeterRegistry meterRegistry,
+                             @Value("${search.suggest.product-weight:5}") double productWeight,
+                             @Value("${search.suggest.max-queries:5000}") int maxQueries) {
+        this.mongoTemplate = mongoTemplate;
+        this.popularSearchService = popularSearchService;
+        this.productWeight = productWeight;
+        this.maxQueries = maxQueries;
+        this.suggestTimer = Timer.builder("search.suggest")
+                .description("자동완성 조회 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 입력 중인 검색어로 자동완성 후보 조회
+     *
+     * @param prefix 입력값
+     * @param limit  최대 개수 (최대 20)
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        return suggestTimer.record(() -> trie.search(prefix, Math.min(limit, TOP_K)).stream()
+                .map(s -> new SuggestionDTO(s.text(), s.type().name(), s.productId()))
+                .toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    /**
+     * 제품명 + 인기 검색어로 트리를 새로 만들어 교체
+     */
+    @Scheduled(fixedDelayString = "${search.suggest.refresh-interval-ms:600000}",
+            initialDelayString = "${search.suggest.refresh-interval-ms:600000}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            recordChanges(new ArrayList<>());
+            List<Suggestion> suggestions = new ArrayList<>();
+
+            Query products = new Query();
+            products.fields().include("name");
+            try (Stream<Product> stream = mongoTemplate.stream(products, Product.class)) {
+                stream.forEach(p -> {
+                    if (p.getName() != null && !p.getName().isBlank()) {
+                        suggestions.add(Suggestion.product(p.getId(), p.getName(), productWeight));
+                    }
+                });
+            }
+            for (PopularSearchDTO popular : popularSearchService.getPopular(PopularSearchService.Window.ALL, maxQueries)) {
+                suggestions.add(Suggestion.query(popular.getQuery(), popular.getCount()));
+            }
+
+            SuggestionTrie built = new SuggestionTrie(TOP_K, MAX_DEPTH, MAX_WORD_STARTS);
+            built.putAll(suggestions);
+            int replayed = swap(built);
+            log.info("자동완성 색인 갱신 - 후보 {}개, 갱신 중 변경 {}건 재적용, {}ms",
+                    built.size(), replayed, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.warn("자동완성 색인 갱신 실패, 이전 색인 유지: {}", e.getMessage());
+        } finally {
+            recordChanges(null);
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * 갱신 중 들어온 변경을 새 트리에 다시 적용한 뒤 교체
+     *
+     * @return 다시 적용한 변경 수
+     */
+    private int swap(SuggestionTrie built) {
+        changeLock.lock();
+        try {
+            List<Consumer<SuggestionTrie>> changes = changesDuringRefresh;
+            changes.forEach(change -> change.accept(built));
+            trie = built;
+            changesDuringRefresh = null;
+            return changes.size();
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    private void recordChanges(List<Consumer<SuggestionTrie>> changes) {
+        changeLock.lock();
+        try {
+            changesDuringRefresh = changes;
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    /**
+     * 현재 트리에 변경 적용 (갱신 중이면 교체 후 다시 적용하도록 기록)
+     */
+    private void apply(Consumer<SuggestionTrie> change) {
+        changeLock.lock();
+        try {
+            change.accept(trie);
+            if (changesDuringRefresh != null) changesDuringRefresh.add(change);
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    /**
+     * 제품 추가/수정 반영
+     */
+    public void onProductSaved(Product product) {
+        if (product.getId() == null) return;
+        if (product.getName() == null || product.getName().isBlank()) {
+            String key = Suggestion.productKey(product.getId());
+            apply(target -> target.remove(key));
+        } else {
+            Suggestion suggestion = Suggestion.product(product.getId(), product.getName(), productWeight);
+            apply(target -> target.put(suggestion));
+        }
+    }
+
+    /**
+     * 제품 삭제 반영
+     */
+    public void onProductDeleted(String productId) {
+        String key = Suggestion.productKey(productId);
+        apply(target -> target.remove(key));
+    }
+}
@@ -0,0 +1,208 @@
+package com.bangkoo.back.service.search;
+
+import com.bangkoo.back.dto.search.SimilarProductDTO;
+import com.bangkoo.back.model.product.Embedding;
+import com.bangkoo.back.model.product.Product;
+import com.bangkoo.back.repository.product.ProductRepository;
+import com.bangkoo.back.service.search.vector.ExactVectorIndex;
+import com.bangkoo.back.service.search.vector.HnswVectorIndex;
+import com.bangkoo.back.service.search.vector.VectorIndex;
+import com.bangkoo.back.service.search.vector.VectorMatch;
+import com.bangkoo.back.utils.VectorMath;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.springframework.http.HttpStatus.*;
+
+/**
+ * JVM 내 벡터 유사도 검색 서비스
+ *
+ * - products 컬렉션의 combinedEmbedding 을 메모리 인덱스로 올려 코사인 유사도 top-k 검색
+ * - FastAPI /search 를 거치지 않고 Java 에서 바로 유사 제품을 찾을 때 사용
+ * - 엔진은 search.vector.engine 으로 선택 (exact: 전수 비교, hnsw: 근사 검색)
+ * - 제품이 추가/수정/삭제되면 invalidate() → 다음 검색 시 백그라운드 재구축
+ */
+@Slf4j
+@Service
+public class VectorSearchService {
+
+    private final ProductRepository productRepository;
+
+    @Value("${search.vector.engine:exact}")
+    private String engine;
+
+    @Value("${search.vector.hnsw.m:16}")
+    private int hnswM;
+
+    @Value("${search.vector.hnsw.ef-construction:200}")
+    private int hnswEfConstruction;
+
+    @Value("${search.vector.hnsw.ef-search:64}")
+    private int hnswEfSearch;
+
+    private volatile VectorIndex index;
+    private volatile boolean dirty = true;
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    // synchronized 대신 사용: 구축 중 Mongo 조회를 기다리는 가상 스레드가 캐리어 스레드를 붙잡지 않도록
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    public VectorSearchService(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * 질의 벡터 기준 유사 제품 검색
+     *
+     * @param query 임베딩 벡터 (정규화 여부 무관)
+     * @param k     반환 개수
+     * @return 유사도 내림차순 결과
+     */
+    public List<VectorMatch> search(float[] query, int k) {
+        VectorIndex current = currentIndex();
+        if (query == null || current.size() == 0) return List.of();
+        if (query.length != current.dimension()) {
+            throw new ResponseStatusException(BAD_REQUEST,
+                    "임베딩 차원이 맞지 않습니다. expected=" + current.dimension() + ", actual=" + query.length);
+        }
+
+        float[] normalized = query.clone();
+        VectorMath.normalizeInPlace(normalized);
+        return current.search(normalized, k);
+    }
+
+    /**
+     * 특정 제품과 비슷한 제품 조회 (자기 자신 제외)
+     *
+     * - 없는 제품이면 404, 제품은 있지만 인덱스에 임베딩이 없으면 400
+     *
+     * @param productId 기준 제품 ID
+     * @param k         반환 개수
+     */
+    public List<SimilarProductDTO> findSimilarProducts(String productId, int k) {
+        VectorIndex current = currentIndex();
+        float[] vector = current.vectorOf(productId);
+        if (vector == null) {
+            if (!productRepository.existsById(productId)) {
+                throw new ResponseStatusException(NOT_FOUND, "제품을 찾지 못 했습니다. ID: " + productId);
+            }
+            throw new ResponseStatusException(BAD_REQUEST, "임베딩이 없는 제품입니다. ID: " + productId);
+        }
+
+        List<VectorMatch> matches = new ArrayList<>(current.search(vector, k + 1));
+        matches.removeIf(match -> match.id().equals(productId));
+        if (matches.size() > k) {
+            matches = matches.subList(0, k);
+        }
+        return toProducts(matches);
+    }
+
+    /**
+     * 검색 결과 → 제품 정보 매핑 (유사도 순서 유지)
+     */
+    public List<SimilarProductDTO> toProducts(List<VectorMatch> matches) {
+        List<String> ids = matches.stream().map(VectorMatch::id).toList();
+        Map<String, Product> products = new HashMap<>();
+        productRepository.findAllByIdWithoutEmbeddings(ids).forEach(p -> products.put(p.getId(), p));
+
+        List<SimilarProductDTO> result = new ArrayList<>(matches.size());
+        for (VectorMatch match : matches) {
+            Product p = products.get(match.id());
+            if (p == null) continue; // 인덱스 구축 이후 삭제된 제품
+            result.add(SimilarProductDTO.builder()
+                    .id(p.getId())
+                    .name(p.getName())
+                    .description(p.getDescription())
+                    .price(p.getPrice())
+                    .link(p.getLink())
+                    .imageUrl(p.getImageUrl())
+                    .model3dUrl(p.getModel3dUrl())
+                    .score(match.score())
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * 제품 변경 알림
+     * - 현재 인덱스는 계속 사용하고, 다음 검색 시 백그라운드에서 재구축
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * 인덱스 즉시 재구축
+     */
+    public void rebuild() {
+        buildLock.lock();
+        try {
+            build();
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private void build() {
+        dirty = false;
+        long start = System.currentTimeMillis();
+
+        List<String> ids = new ArrayList<>();
+        List<float[]> vectors = new ArrayList<>();
+        int dimension = -1;
+        for (Product product : productRepository.findAllCombinedEmbeddings()) {
+            Embedding embedding = product.getCombinedEmbedding();
+            if (embedding == null || embedding.isEmpty()) continue;
+            float[] vector = embedding.normalizedCopy();
+            if (dimension < 0) dimension = vector.length;
+            if (vector.length != dimension) {
+                log.warn("임베딩 차원 불일치로 인덱스에서 제외 - ID: {}, dim: {}", product.getId(), vector.length);
+                continue;
+            }
+            ids.add(product.getId());
+            vectors.add(vector);
+        }
+
+        index = "hnsw".equalsIgnoreCase(engine)
+                ? new HnswVectorIndex(ids, vectors, hnswM, hnswEfConstruction, hnswEfSearch)
+                : new ExactVectorIndex(ids, vectors);
+
+        log.info("벡터 인덱스 구축 완료 - engine: {}, size: {}, dim: {}, {}ms",
+                engine, ids.size(), Math.max(dimension, 0), System.currentTimeMillis() - start);
+    }
+
+    private VectorIndex currentIndex() {
+        VectorIndex current = index;
+        if (current == null) {
+            buildLock.lock();
+            try {
+                if (index == null) build();
+                return index;
+            } finally {
+                buildLock.unlock();
+            }
+        }
+        if (dirty && rebuilding.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    dirty = true;
+                    log.error("벡터 인덱스 재구축 실패", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+        return current;
+    }
+}
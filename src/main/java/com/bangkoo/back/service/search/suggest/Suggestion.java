@@ -0,0 +1,27 @@
+package com.bangkoo.back.service.search.suggest;
+
+/**
+ * 자동완성 후보
+ *
+ * @param id        후보 고유 키 (같은 id 로 다시 넣으면 교체)
+ * @param text      화면에 보여줄 문구
+ * @param type      출처 (PRODUCT / QUERY)
+ * @param productId 제품 후보면 제품 ID, 아니면 null
+ * @param weight    순위 가중치 (클수록 먼저)
+ */
+public record Suggestion(String id, String text, Type type, String productId, double weight) {
+
+    public enum Type { PRODUCT, QUERY }
+
+    public static Suggestion product(String productId, String name, double weight) {
+        return new Suggestion(productKey(productId), name, Type.PRODUCT, productId, weight);
+    }
+
+    public static String productKey(String productId) {
+        return "p:" + productId;
+    }
+
+    public static Suggestion query(String query, double weight) {
+        return new Suggestion("q:" + SuggestionTrie.normalize(query), query, Type.QUERY, null, weight);
+    }
+}
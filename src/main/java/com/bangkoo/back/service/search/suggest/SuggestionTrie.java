@@ -0,0 +1,296 @@
+package com.bangkoo.back.service.search.suggest;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 자동완성용 접두사 트리 (노드마다 상위 K개 후보를 미리 계산)
+ *
+ * - 문구를 정규화(NFKD + 소문자 + 공백 정리)해 글자 단위로 저장
+ *   NFKD 로 한글을 자모로 풀어 두므로 '소ㅍ' 처럼 조합 중인 입력도 '소파' 에 일치
+ *   입력 중 마지막 글자의 받침은 다음 글자 초성일 수도 있어 옮겨서 한 번 더 찾음 ('솦' → '소파', '닭' → '달기')
+ * - 문구의 각 단어 시작 위치부터도 저장 → '소파' 로 '3인용 소파' 도 찾음
+ * - 조회: 접두사 경로를 따라 내려가 해당 노드의 top 배열을 그대로 반환 → 입력 길이에만 비례
+ * - 변경(put / remove)은 synchronized 로 하나씩, 바뀐 경로의 top 만 아래에서 위로 다시 계산
+ *   자식 목록과 top 은 통째로 교체하므로 조회는 잠금 없이 진행
+ */
+public class SuggestionTrie {
+
+    private static final Suggestion[] NONE = new Suggestion[0];
+    private static final Comparator<Suggestion> BY_WEIGHT =
+            Comparator.comparingDouble(Suggestion::weight).reversed().thenComparing(Suggestion::text);
+
+    /** 받침(U+11A8 ᆨ ~ U+11C2 ᇂ) → 다음 글자로 옮겼을 때 남는 받침 (겹받침의 앞 자음, 없으면 0) */
+    private static final String FINAL_REST =
+            "\0\0\u11A8\0\u11AB\u11AB\0\0\u11AF\u11AF\u11AF\u11AF\u11AF\u11AF\u11AF\0\0\u11B8\0\0\0\0\0\0\0\0\0";
+    /** 받침(U+11A8 ~ U+11C2) → 다음 글자의 초성 (겹받침은 뒤 자음) */
+    private static final String FINAL_TO_INITIAL =
+            "\u1100\u1101\u1109\u1102\u110C\u1112\u1103\u1105\u1100\u1106\u1107\u1109\u1110\u1111\u1112"
+                    + "\u1106\u1107\u1109\u1109\u110A\u110B\u110C\u110E\u110F\u1110\u1111\u1112";
+
+    private final int topK;
+    private final int maxDepth;
+    private final int maxWordStarts;
+    private final Node root = new Node();
+    /** 후보 id → 저장된 경로 목록 (교체 / 삭제용) */
+    private final Map<String, List<String>> pathsById = new HashMap<>();
+
+    /**
+     * @param topK          노드마다 보관할 후보 수 (조회 limit 상한)
+     * @param maxDepth      저장할 최대 경로 길이 (정규화 후 글자 수)
+     * @param maxWordStarts 문구당 단어 시작 위치 최대 개수
+     */
+    public SuggestionTrie(int topK, int maxDepth, int maxWordStarts) {
+        this.topK = topK;
+        this.maxDepth = maxDepth;
+        this.maxWordStarts = maxWordStarts;
+    }
+
+    /**
+     * 후보 여러 개를 한 번에 넣고 전체 top 을 한 번만 계산 (초기 구축용)
+     */
+    public synchronized void putAll(List<Suggestion> suggestions) {
+        for (Suggestion suggestion : suggestions) {
+            removePaths(suggestion.id(), false);
+            insertPaths(suggestion, false);
+        }
+        recomputeAll(root);
+    }
+
+    /**
+     * 후보 추가 또는 교체
+     */
+    public synchronized void put(Suggestion suggestion) {
+        removePaths(suggestion.id(), true);
+        insertPaths(suggestion, true);
+    }
+
+    /**
+     * 후보 삭제
+     */
+    public synchronized void remove(String id) {
+        removePaths(id, true);
+    }
+
+    /**
+     * 접두사로 시작하는 후보 (가중치 순, 같은 문구는 한 번만)
+     * - 마지막 글자에 받침이 있으면 그 받침을 다음 글자 초성으로 옮긴 접두사의 후보도 합침
+     */
+    public List<Suggestion> search(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) return List.of();
+
+        Suggestion[] top = top(key);
+        String carried = carryFinalConsonant(key);
+        Suggestion[] alternative = carried == null ? NONE : top(carried);
+        if (alternative.length > 0) {
+            Map<String, Suggestion> best = new LinkedHashMap<>();
+            for (Suggestion s : top) keepBest(best, s);
+            for (Suggestion s : alternative) keepBest(best, s);
+            top = best.values().toArray(NONE);
+            Arrays.sort(top, BY_WEIGHT);
+        }
+        return Arrays.asList(top).subList(0, Math.min(limit, top.length));
+    }
+
+    public synchronized int size() {
+        return pathsById.size();
+    }
+
+    /**
+     * 정규화: NFKD(한글 → 자모) + 소문자 + 연속 공백 하나로 + 앞뒤 공백 제거
+     */
+    public static String normalize(String text) {
+        if (text == null) return "";
+        return Normalizer.normalize(text, Normalizer.Form.NFKD)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    /**
+     * 정규화된 접두사의 마지막 받침을 다음 글자 초성으로 옮긴 키 ('솦' 솦 → 소ᄑ, '닭' 닭 → 달ᄀ)
+     *
+     * @return 마지막 글자가 받침이 아니면 null
+     */
+    static String carryFinalConsonant(String key) {
+        int index = key.charAt(key.length() - 1) - '\u11A8';
+        if (index < 0 || index >= FINAL_TO_INITIAL.length()) return null;
+
+        StringBuilder carried = new StringBuilder(key.length() + 1).append(key, 0, key.length() - 1);
+        char rest = FINAL_REST.charAt(index);
+        if (rest != 0) carried.append(rest);
+        return carried.append(FINAL_TO_INITIAL.charAt(index)).toString();
+    }
+
+    private Suggestion[] top(String key) {
+        if (key.length() > maxDepth) key = key.substring(0, maxDepth);
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node == null ? NONE : node.top;
+    }
+
+    /**
+     * 문구 전체 + 각 단어 시작 위치부터의 경로
+     */
+    private List<String> paths(String text) {
+        String key = normalize(text);
+        List<String> paths = new ArrayList<>();
+        int start = 0;
+        while (start >= 0 && start < key.length() && paths.size() < maxWordStarts) {
+            paths.add(key.substring(start, Math.min(key.length(), start + maxDepth)));
+            int space = key.indexOf(' ', start);
+            start = space < 0 ? -1 : space + 1;
+        }
+        return paths;
+    }
+
+    private void insertPaths(Suggestion suggestion, boolean recompute) {
+        List<String> paths = paths(suggestion.text());
+        if (paths.isEmpty()) return;
+        pathsById.put(suggestion.id(), paths);
+
+        for (String path : paths) {
+            Node[] trail = new Node[path.length() + 1];
+            Node node = root;
+            trail[0] = node;
+            for (int i = 0; i < path.length(); i++) {
+                node = node.childOrCreate(path.charAt(i));
+                trail[i + 1] = node;
+            }
+            if (node.terminals == null) node.terminals = new HashMap<>(2);
+            node.terminals.put(suggestion.id(), suggestion);
+            if (recompute) recomputeTrail(trail, path);
+        }
+    }
+
+    private void removePaths(String id, boolean recompute) {
+        List<String> paths = pathsById.remove(id);
+        if (paths == null) return;
+
+        for (String path : paths) {
+            Node[] trail = new Node[path.length() + 1];
+            Node node = root;
+            trail[0] = node;
+            for (int i = 0; i < path.length() && node != null; i++) {
+                node = node.child(path.charAt(i));
+                trail[i + 1] = node;
+            }
+            if (node == null || node.terminals == null) continue;
+            node.terminals.remove(id);
+            if (node.terminals.isEmpty()) node.terminals = null;
+            if (recompute) recomputeTrail(trail, path);
+        }
+    }
+
+    /**
+     * 경로 아래에서 위로 top 재계산, 비어 버린 노드는 부모에서 제거
+     * - top 이 그대로인 노드를 만나면 그 위 조상도 바뀔 것이 없으므로 중단
+     */
+    private void recomputeTrail(Node[] trail, String path) {
+        for (int depth = trail.length - 1; depth >= 0; depth--) {
+            Node node = trail[depth];
+            Suggestion[] before = node.top;
+            recompute(node);
+            boolean pruned = depth > 0 && node.isLeaf();
+            if (pruned) {
+                trail[depth - 1].removeChild(path.charAt(depth - 1));
+            }
+            if (!pruned && Arrays.equals(before, node.top)) return;
+        }
+    }
+
+    private void recomputeAll(Node node) {
+        for (Node child : node.children.nodes) {
+            recomputeAll(child);
+        }
+        recompute(node);
+    }
+
+    /**
+     * 이 노드에서 끝나는 후보 + 자식 top 을 합쳐 상위 K개 (같은 문구는 가중치 높은 쪽만)
+     */
+    private void recompute(Node node) {
+        Map<String, Suggestion> best = new LinkedHashMap<>();
+        if (node.terminals != null) {
+            node.terminals.values().forEach(s -> keepBest(best, s));
+        }
+        for (Node child : node.children.nodes) {
+            for (Suggestion s : child.top) keepBest(best, s);
+        }
+        Suggestion[] merged = best.values().toArray(NONE);
+        Arrays.sort(merged, BY_WEIGHT);
+        node.top = merged.length > topK ? Arrays.copyOf(merged, topK) : merged;
+    }
+
+    private static void keepBest(Map<String, Suggestion> best, Suggestion candidate) {
+        best.merge(candidate.text(), candidate, (a, b) -> a.weight() >= b.weight() ? a : b);
+    }
+
+    /**
+     * 자식 목록 (글자 오름차순, 교체 전용)
+     */
+    private record Children(char[] keys, Node[] nodes) {
+        static final Children EMPTY = new Children(new char[0], new Node[0]);
+    }
+
+    private static final class Node {
+        private volatile Children children = Children.EMPTY;
+        private volatile Suggestion[] top = NONE;
+        /** 이 노드에서 끝나는 후보 (변경 스레드만 접근) */
+        private Map<String, Suggestion> terminals;
+
+        Node child(char c) {
+            Children current = children;
+            int index = Arrays.binarySearch(current.keys, c);
+            return index >= 0 ? current.nodes[index] : null;
+        }
+
+        Node childOrCreate(char c) {
+            Children current = children;
+            int index = Arrays.binarySearch(current.keys, c);
+            if (index >= 0) return current.nodes[index];
+
+            int insertAt = -index - 1;
+            int size = current.keys.length;
+            char[] keys = new char[size + 1];
+            Node[] nodes = new Node[size + 1];
+            System.arraycopy(current.keys, 0, keys, 0, insertAt);
+            System.arraycopy(current.nodes, 0, nodes, 0, insertAt);
+            System.arraycopy(current.keys, insertAt, keys, insertAt + 1, size - insertAt);
+            System.arraycopy(current.nodes, insertAt, nodes, insertAt + 1, size - insertAt);
+            Node created = new Node();
+            keys[insertAt] = c;
+            nodes[insertAt] = created;
+            children = new Children(keys, nodes);
+            return created;
+        }
+
+        void removeChild(char c) {
+            Children current = children;
+            int index = Arrays.binarySearch(current.keys, c);
+            if (index < 0) return;
+            int size = current.keys.length;
+            char[] keys = new char[size - 1];
+            Node[] nodes = new Node[size - 1];
+            System.arraycopy(current.keys, 0, keys, 0, index);
+            System.arraycopy(current.nodes, 0, nodes, 0, index);
+            System.arraycopy(current.keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(current.nodes, index + 1, nodes, index, size - index - 1);
+            children = new Children(keys, nodes);
+        }
+
+        boolean isLeaf() {
+            return children.keys.length == 0 && terminals == null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.bangkoo.back.service.search.vector;
+
+import com.bangkoo.back.utils.VectorMath;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 전수 비교(brute-force) 벡터 인덱스
+ *
+ * - 모든 벡터를 하나의 float[]에 행 단위로 이어 붙여 저장 (캐시 친화적)
+ * - 질의마다 전체 내적을 계산하고 크기 k의 최소 힙으로 상위 k개 선택
+ * - 결과가 정확해야 하거나 카탈로그가 작을 때 사용
+ */
+public class ExactVectorIndex implements VectorIndex {
+
+    private final String[] ids;
+    private final float[] data;
+    private final int dimension;
+    private final Map<String, Integer> positions;
+
+    /**
+     * @param ids     제품 ID 목록
+     * @param vectors ids와 같은 순서의 벡터 (모두 같은 차원, 정규화 완료)
+     */
+    public ExactVectorIndex(List<String> ids, List<float[]> vectors) {
+        this.dimension = vectors.isEmpty() ? 0 : vectors.get(0).length;
+        this.ids = ids.toArray(new String[0]);
+        this.data = new float[ids.size() * dimension];
+        this.positions = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < this.ids.length; i++) {
+            System.arraycopy(vectors.get(i), 0, data, i * dimension, dimension);
+            positions.put(this.ids[i], i);
+        }
+    }
+
+    @Override
+    public List<VectorMatch> search(float[] query, int k) {
+        int n = ids.length;
+        if (n == 0 || k <= 0) return List.of();
+        k = Math.min(k, n);
+
+        // 최소 힙 (heap[0]이 현재 top-k 중 가장 낮은 점수)
+        int[] heapIdx = new int[k];
+        float[] heapScore = new float[k];
+        int heapSize = 0;
+
+        for (int i = 0; i < n; i++) {
+            float score = VectorMath.dot(query, 0, data, i * dimension, dimension);
+            if (heapSize < k) {
+                heapIdx[heapSize] = i;
+                heapScore[heapSize] = score;
+                siftUp(heapIdx, heapScore, heapSize++);
+            } else if (score > heapScore[0]) {
+                heapIdx[0] = i;
+                heapScore[0] = score;
+                siftDown(heapIdx, heapScore, heapSize);
+            }
+        }
+
+        // 힙에서 꺼내면 오름차순이므로 뒤에서부터 채움
+        VectorMatch[] sorted = new VectorMatch[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            sorted[i] = new VectorMatch(ids[heapIdx[0]], heapScore[0]);
+            heapIdx[0] = heapIdx[i];
+            heapScore[0] = heapScore[i];
+            siftDown(heapIdx, heapScore, i);
+        }
+        return new ArrayList<>(List.of(sorted));
+    }
+
+    @Override
+    public float[] vectorOf(String id) {
+        Integer pos = positions.get(id);
+        if (pos == null) return null;
+        float[] copy = new float[dimension];
+        System.arraycopy(data, pos * dimension, copy, 0, dimension);
+        return copy;
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    private static void siftUp(int[] idx, float[] score, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (score[i] >= score[parent]) break;
+            swap(idx, score, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] idx, float[] score, int size) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && score[right] < score[left]) smallest = right;
+            if (score[i] <= score[smallest]) break;
+            swap(idx, score, i, smallest);
+            i = smallest;
+        }
+    }
+
+    private static void swap(int[] idx, float[] score, int a, int b) {
+        int ti = idx[a];
+        idx[a] = idx[b];
+        idx[b] = ti;
+        float ts = score[a];
+        score[a] = score[b];
+        score[b] = ts;
+    }
+}
@@ -0,0 +1,277 @@
+package com.bangkoo.back.service.search.vector;
+
+import com.bangkoo.back.utils.VectorMath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * HNSW(Hierarchical Navigable Small World) 근사 벡터 인덱스
+ *
+ * - 계층형 근접 그래프를 만들어 질의당 O(log n) 수준의 노드만 방문
+ * - 결과가 근사값이므로 efSearch 를 올리면 정확도↑ 속도↓
+ * - 인덱스는 생성 시 한 번에 구축하고 이후에는 읽기 전용 (동시 검색 안전)
+ *
+ * @see <a href="https://arxiv.org/abs/1603.09320">Malkov &amp; Yashunin, 2016</a>
+ */
+public class HnswVectorIndex implements VectorIndex {
+
+    private static final Comparator<Candidate> BEST_FIRST =
+            Comparator.comparingDouble((Candidate c) -> c.score).reversed();
+    private static final Comparator<Candidate> WORST_FIRST =
+            Comparator.comparingDouble((Candidate c) -> c.score);
+
+    private final String[] ids;
+    private final float[] data;
+    private final int dimension;
+    private final Map<String, Integer> positions;
+
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+
+    /** links[node][level] = 이웃 노드 번호, linkCounts[node][level] = 실제 이웃 수 */
+    private final int[][][] links;
+    private final int[][] linkCounts;
+
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    /**
+     * @param ids            제품 ID 목록
+     * @param vectors        ids와 같은 순서의 벡터 (모두 같은 차원, 정규화 완료)
+     * @param m              레벨별 최대 이웃 수 (레벨 0은 2M)
+     * @param efConstruction 구축 시 후보 큐 크기
+     * @param efSearch       검색 시 후보 큐 크기
+     */
+    public HnswVectorIndex(List<String> ids, List<float[]> vectors, int m, int efConstruction, int efSearch) {
+        this.dimension = vectors.isEmpty() ? 0 : vectors.get(0).length;
+        this.ids = ids.toArray(new String[0]);
+        this.data = new float[ids.size() * dimension];
+        this.positions = new HashMap<>(ids.size() * 2);
+        this.m = Math.max(2, m);
+        this.maxM0 = this.m * 2;
+        this.efConstruction = Math.max(efConstruction, this.m);
+        this.efSearch = Math.max(1, efSearch);
+        this.levelMultiplier = 1.0 / Math.log(this.m);
+        this.links = new int[this.ids.length][][];
+        this.linkCounts = new int[this.ids.length][];
+
+        // 시드를 고정해서 같은 데이터면 같은 그래프가 나오도록 함
+        Random random = new Random(42);
+        for (int i = 0; i < this.ids.length; i++) {
+            System.arraycopy(vectors.get(i), 0, data, i * dimension, dimension);
+            positions.put(this.ids[i], i);
+            insert(i, randomLevel(random));
+        }
+    }
+
+    @Override
+    public List<VectorMatch> search(float[] query, int k) {
+        if (entryPoint < 0 || k <= 0) return List.of();
+
+        int current = entryPoint;
+        float currentScore = score(query, current);
+        for (int level = maxLevel; level > 0; level--) {
+            Candidate best = greedyClosest(query, current, currentScore, level);
+            current = best.node;
+            currentScore = best.score;
+        }
+
+        PriorityQueue<Candidate> found =
+                searchLayer(query, new Candidate(current, currentScore), Math.max(efSearch, k), 0);
+
+        List<Candidate> ordered = new ArrayList<>(found);
+        ordered.sort(BEST_FIRST);
+        List<VectorMatch> result = new ArrayList<>(Math.min(k, ordered.size()));
+        for (int i = 0; i < ordered.size() && i < k; i++) {
+            Candidate c = ordered.get(i);
+            result.add(new VectorMatch(ids[c.node], c.score));
+        }
+        return result;
+    }
+
+    @Override
+    public float[] vectorOf(String id) {
+        Integer pos = positions.get(id);
+        if (pos == null) return null;
+        return Arrays.copyOfRange(data, pos * dimension, (pos + 1) * dimension);
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    // ───────────────────────── 구축 ─────────────────────────
+
+    private int randomLevel(Random random) {
+        double r = 1.0 - random.nextDouble(); // (0, 1]
+        return (int) Math.floor(-Math.log(r) * levelMultiplier);
+    }
+
+    private void insert(int node, int level) {
+        links[node] = new int[level + 1][];
+        linkCounts[node] = new int[level + 1];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[maxLinks(l)];
+        }
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        float[] vector = Arrays.copyOfRange(data, node * dimension, (node + 1) * dimension);
+        int current = entryPoint;
+        float currentScore = score(vector, current);
+
+        // 상위 레벨: 가장 가까운 노드 하나만 따라 내려감
+        for (int l = maxLevel; l > level; l--) {
+            Candidate best = greedyClosest(vector, current, currentScore, l);
+            current = best.node;
+            currentScore = best.score;
+        }
+
+        // 노드 레벨 이하: ef 후보를 모아 이웃 연결
+        Candidate entry = new Candidate(current, currentScore);
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            PriorityQueue<Candidate> found = searchLayer(vector, entry, efConstruction, l);
+            List<Candidate> ordered = new ArrayList<>(found);
+            ordered.sort(BEST_FIRST);
+
+            int connect = Math.min(m, ordered.size());
+            for (int i = 0; i < connect; i++) {
+                int neighbor = ordered.get(i).node;
+                addLink(node, neighbor, l);
+                addLink(neighbor, node, l);
+            }
+            entry = ordered.get(0);
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    /**
+     * from → to 간선 추가
+     * - 이웃 수가 한도를 넘으면 from 기준으로 가장 먼 이웃을 제거
+     */
+    private void addLink(int from, int to, int level) {
+        int[] neighbors = links[from][level];
+        int count = linkCounts[from][level];
+        for (int i = 0; i < count; i++) {
+            if (neighbors[i] == to) return;
+        }
+        if (count < neighbors.length) {
+            neighbors[count] = to;
+            linkCounts[from][level] = count + 1;
+            return;
+        }
+
+        int worst = -1;
+        float worstScore = similarity(from, to);
+        for (int i = 0; i < count; i++) {
+            float s = similarity(from, neighbors[i]);
+            if (s < worstScore) {
+                worstScore = s;
+                worst = i;
+            }
+        }
+        if (worst >= 0) {
+            neighbors[worst] = to;
+        }
+    }
+
+    private int maxLinks(int level) {
+        return level == 0 ? maxM0 : m;
+    }
+
+    // ───────────────────────── 탐색 ─────────────────────────
+
+    private Candidate greedyClosest(float[] query, int start, float startScore, int level) {
+        int current = start;
+        float currentScore = startScore;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] neighbors = links[current][level];
+            int count = linkCounts[current][level];
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                float s = score(query, neighbor);
+                if (s > currentScore) {
+                    currentScore = s;
+                    current = neighbor;
+                    changed = true;
+                }
+            }
+        }
+        return new Candidate(current, currentScore);
+    }
+
+    /**
+     * 한 레벨에서 ef 크기의 빔 탐색
+     *
+     * @return 찾은 후보 (최소 힙, 크기 ≤ ef)
+     */
+    private PriorityQueue<Candidate> searchLayer(float[] query, Candidate entry, int ef, int level) {
+        BitSet visited = new BitSet(ids.length);
+        visited.set(entry.node);
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<Candidate> found = new PriorityQueue<>(WORST_FIRST);
+        candidates.add(entry);
+        found.add(entry);
+
+        while (!candidates.isEmpty()) {
+            Candidate current = candidates.poll();
+            if (found.size() >= ef && current.score < found.peek().score) break;
+
+            int[] neighbors = links[current.node][level];
+            int count = linkCounts[current.node][level];
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (visited.get(neighbor)) continue;
+                visited.set(neighbor);
+
+                float s = score(query, neighbor);
+                if (found.size() < ef || s > found.peek().score) {
+                    Candidate next = new Candidate(neighbor, s);
+                    candidates.add(next);
+                    found.add(next);
+                    if (found.size() > ef) found.poll();
+                }
+            }
+        }
+        return found;
+    }
+
+    private float score(float[] query, int node) {
+        return VectorMath.dot(query, 0, data, node * dimension, dimension);
+    }
+
+    private float similarity(int a, int b) {
+        return VectorMath.dot(data, a * dimension, data, b * dimension, dimension);
+    }
+
+    private record Candidate(int node, float score) {
+    }
+}
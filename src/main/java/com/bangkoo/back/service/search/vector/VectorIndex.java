@@ -0,0 +1,29 @@
+package com.bangkoo.back.service.search.vector;
+
+import java.util.List;
+
+/**
+ * 제품 임베딩 벡터 인덱스
+ *
+ * - 모든 벡터는 L2 정규화된 상태로 저장되므로 내적 = 코사인 유사도
+ * - 구현체: ExactVectorIndex (전수 비교), HnswVectorIndex (근사 검색)
+ */
+public interface VectorIndex {
+
+    /**
+     * 질의 벡터와 가장 유사한 상위 k개 반환 (유사도 내림차순)
+     *
+     * @param query 정규화된 질의 벡터
+     * @param k     반환 개수
+     */
+    List<VectorMatch> search(float[] query, int k);
+
+    /**
+     * 인덱스에 저장된 벡터 조회 (없으면 null)
+     */
+    float[] vectorOf(String id);
+
+    int size();
+
+    int dimension();
+}
@@ -0,0 +1,10 @@
+package com.bangkoo.back.service.search.vector;
+
+/**
+ * 벡터 검색 결과 한 건
+ *
+ * @param id    제품 ID
+ * @param score 코사인 유사도
+ */
+public record VectorMatch(String id, float score) {
+}
@@ -0,0 +1,157 @@
+package com.bangkoo.back.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 짧은 시간 안에 들어온 단건 요청을 모아 한 번에 처리하는 마이크로 배처
+ *
+ * - 모인 요청이 maxBatchSize 개가 되면 즉시, 아니면 첫 요청 후 linger 시간이 지나면 처리
+ * - loader 는 입력 목록과 같은 순서·같은 길이의 결과 목록을 반환해야 함
+ * - loader 실패 시 해당 배치의 모든 요청이 같은 예외로 실패
+ * - 동시에 실행되는 배치 수는 maxInFlight 개로 제한
+ *
+ * @param <I> 입력 타입
+ * @param <O> 결과 타입
+ */
+public class MicroBatcher<I, O> implements AutoCloseable {
+
+    private final Function<List<I>, List<O>> loader;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService dispatcher;
+
+    private final Object lock = new Object();
+    private List<Pending<I, O>> buffer = new ArrayList<>();
+    private ScheduledFuture<?> lingerTask;
+
+    /**
+     * @param name         스레드 이름 접두사
+     * @param loader       배치 처리 함수
+     * @param maxBatchSize 한 번에 처리할 최대 요청 수
+     * @param lingerNanos  첫 요청 후 최대 대기 시간 (나노초)
+     * @param maxInFlight  동시에 실행할 최대 배치 수
+     */
+    public MicroBatcher(String name, Function<List<I>, List<O>> loader,
+                        int maxBatchSize, long lingerNanos, int maxInFlight) {
+        this.loader = loader;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.lingerNanos = Math.max(0, lingerNanos);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemon(name + "-linger"));
+        this.dispatcher = Executors.newFixedThreadPool(Math.max(1, maxInFlight), daemon(name));
+    }
+
+    /**
+     * 단건 요청
+     */
+    public CompletableFuture<O> submit(I input) {
+        Pending<I, O> pending = new Pending<>(input, new CompletableFuture<>());
+        List<Pending<I, O>> full = null;
+        synchronized (lock) {
+            buffer.add(pending);
+            if (buffer.size() >= maxBatchSize) {
+                full = drain();
+            } else if (buffer.size() == 1) {
+                lingerTask = scheduler.schedule(this::flushLingering, lingerNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return pending.future;
+    }
+
+    /**
+     * 여러 건 요청 (다른 호출자의 요청과 섞여 maxBatchSize 단위로 처리됨)
+     *
+     * @return 입력과 같은 순서의 결과
+     */
+    public CompletableFuture<List<O>> submitAll(List<I> inputs) {
+        List<CompletableFuture<O>> futures = new ArrayList<>(inputs.size());
+        for (I input : inputs) {
+            futures.add(submit(input));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(done -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    @Override
+    public void close() {
+        List<Pending<I, O>> remaining;
+        synchronized (lock) {
+            remaining = drain();
+        }
+        if (!remaining.isEmpty()) {
+            dispatch(remaining);
+        }
+        scheduler.shutdownNow();
+        dispatcher.shutdown();
+    }
+
+    private void flushLingering() {
+        List<Pending<I, O>> batch;
+        synchronized (lock) {
+            if (buffer.isEmpty()) return;
+            batch = drain();
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * 현재까지 모인 요청을 꺼냄 (lock 안에서 호출)
+     */
+    private List<Pending<I, O>> drain() {
+        if (lingerTask != null) {
+            lingerTask.cancel(false);
+            lingerTask = null;
+        }
+        List<Pending<I, O>> batch = buffer;
+        buffer = new ArrayList<>();
+        return batch;
+    }
+
+    private void dispatch(List<Pending<I, O>> batch) {
+        try {
+            dispatcher.execute(() -> process(batch));
+        } catch (RuntimeException e) {
+            batch.forEach(p -> p.future.completeExceptionally(e));
+        }
+    }
+
+    private void process(List<Pending<I, O>> batch) {
+        try {
+            List<O> results = loader.apply(batch.stream().map(Pending::input).toList());
+            if (results == null || results.size() != batch.size()) {
+                throw new IllegalStateException("배치 결과 개수가 맞지 않습니다. expected=" + batch.size()
+                        + ", actual=" + (results == null ? 0 : results.size()));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(results.get(i));
+            }
+        } catch (Throwable t) {
+            batch.forEach(p -> p.future.completeExceptionally(t));
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Pending<I, O>(I input, CompletableFuture<O> future) {
+    }
+}
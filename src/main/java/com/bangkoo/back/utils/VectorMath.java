@@ -0,0 +1,77 @@
+package com.bangkoo.back.utils;
+
+/**
+ * 임베딩 벡터 연산 유틸
+ *
+ * - 벡터 검색 / 임베딩 결합에서 공통으로 사용하는 float[] 연산 모음
+ * - 루프를 단순하게 유지해서 JIT 자동 벡터화(SIMD)가 적용되도록 작성
+ */
+public final class VectorMath {
+
+    private VectorMath() {
+    }
+
+    /**
+     * 두 벡터의 내적
+     * - 길이가 다르면 짧은 쪽 기준으로 계산
+     */
+    public static float dot(float[] a, float[] b) {
+        return dot(a, 0, b, 0, Math.min(a.length, b.length));
+    }
+
+    /**
+     * 평탄화(flat)된 배열 구간끼리의 내적
+     * - 누산기 4개로 나눠 의존성 체인을 끊어줌
+     */
+    public static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        int bound = length - (length % 4);
+        for (; i < bound; i += 4) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+            s1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+            s2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+            s3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * L2 정규화 (제자리 변환)
+     * - 영벡터는 그대로 둠
+     *
+     * @return 정규화 전 벡터의 크기
+     */
+    public static float normalizeInPlace(float[] v) {
+        float norm = (float) Math.sqrt(dot(v, v));
+        if (norm > 0f) {
+            float inv = 1f / norm;
+            for (int i = 0; i < v.length; i++) {
+                v[i] *= inv;
+            }
+        }
+        return norm;
+    }
+
+    /**
+     * 코사인 유사도 (정규화되지 않은 벡터용)
+     */
+    public static float cosine(float[] a, float[] b) {
+        float dot = dot(a, b);
+        float norm = (float) Math.sqrt(dot(a, a) * dot(b, b));
+        return norm > 0f ? dot / norm : 0f;
+    }
+
+    /**
+     * 원소별 평균을 out 에 기록 (추가 할당 없음)
+     * - out.length 만큼만 계산하므로 out 은 a, b 중 짧은 쪽 이하 길이여야 함
+     */
+    public static void average(float[] a, float[] b, float[] out) {
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (a[i] + b[i]) * 0.5f;
+        }
+    }
+}
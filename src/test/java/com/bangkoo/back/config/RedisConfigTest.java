@@ -0,0 +1,92 @@
+package com.bangkoo.back.config;
+
+import com.bangkoo.back.config.properites.RedisClientProperties;
+import io.lettuce.core.ReadFrom;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RedisConfig 기동 확인 (Redis 서버 없이 - 연결 팩토리는 첫 명령 전까지 접속하지 않음)
+ */
+class RedisConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(RedisAutoConfiguration.class))
+            .withUserConfiguration(ClientPropertiesConfig.class, RedisConfig.class);
+
+    @Test
+    void startsWithReplicaReadsEnabledUsingDefaultReadFrom() {
+        contextRunner
+                .withPropertyValues("redis.client.replica-reads=true", "redis.client.replicas=localhost:6380, 10.0.0.2:6381")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    LettuceConnectionFactory replica = context.getBean("replicaRedisConnectionFactory", LettuceConnectionFactory.class);
+                    assertEquals(ReadFrom.REPLICA_PREFERRED, replica.getClientConfiguration().getReadFrom().orElseThrow());
+                    assertNotSame(context.getBean("binaryRedisTemplate", RedisTemplate.class).getConnectionFactory(),
+                            context.getBean("replicaBinaryRedisTemplate", RedisTemplate.class).getConnectionFactory());
+                });
+    }
+
+    @Test
+    void acceptsEnumStyleReadFromNames() {
+        contextRunner
+                .withPropertyValues("redis.client.replica-reads=true", "redis.client.replicas=localhost:6380",
+                        "redis.client.read-from=LOWEST_LATENCY")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    LettuceConnectionFactory replica = context.getBean("replicaRedisConnectionFactory", LettuceConnectionFactory.class);
+                    assertEquals(ReadFrom.LOWEST_LATENCY, replica.getClientConfiguration().getReadFrom().orElseThrow());
+                });
+    }
+
+    @Test
+    void replicaTemplatesFallBackToPrimaryWhenReplicaReadsDisabled() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).doesNotHaveBean("replicaRedisConnectionFactory");
+            assertSame(context.getBean("redisConnectionFactory"),
+                    context.getBean("replicaBinaryRedisTemplate", RedisTemplate.class).getConnectionFactory());
+        });
+    }
+
+    @Test
+    void failsFastOnMalformedReplicaEntry() {
+        contextRunner
+                .withPropertyValues("redis.client.replica-reads=true", "redis.client.replicas=redis-replica")
+                .run(context -> {
+                    assertThat(context).hasFailed();
+                    assertThat(context.getStartupFailure())
+                            .rootCause()
+                            .isInstanceOf(IllegalStateException.class)
+                            .hasMessageContaining("host:port")
+                            .hasMessageContaining("redis-replica");
+                });
+    }
+
+    @Test
+    void failsFastOnUnknownReadFrom() {
+        contextRunner
+                .withPropertyValues("redis.client.replica-reads=true", "redis.client.replicas=localhost:6380",
+                        "redis.client.read-from=fastestNode")
+                .run(context -> {
+                    assertThat(context).hasFailed();
+                    assertThat(context.getStartupFailure())
+                            .hasRootCauseInstanceOf(IllegalArgumentException.class)
+                            .hasStackTraceContaining("redis.client.read-from");
+                });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableConfigurationProperties(RedisClientProperties.class)
+    static class ClientPropertiesConfig {
+    }
+}
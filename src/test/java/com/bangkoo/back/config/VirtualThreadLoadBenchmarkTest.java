@@ -0,0 +1,166 @@
+package com.bangkoo.back.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 플랫폼 스레드 풀 vs 가상 스레드 요청 처리 부하 비교 (spring.threads.virtual.enabled)
+ *
+ * - AI 서버 대역: 응답 전에 UPSTREAM_DELAY 만큼 기다리는 로컬 서버
+ * - 앱 대역: 요청마다 AI 서버를 블로킹 호출하는 로컬 서버
+ *   플랫폼 = Tomcat 기본 최대 스레드 수(200) 고정 풀, 가상 = 요청마다 가상 스레드
+ * - AI 호출 커넥션 풀(ai.http.max-per-route / pool-timeout)은 세마포어로 흉내, 0 이면 제한 없음
+ * - 풀 크기 50 은 ai.http.max-per-route 기본값, 400 은 가상 스레드 사용 시 기본값 (ai.http.virtual-max-per-route)
+ * - 실행: THREADS_BENCHMARK=true ./gradlew test --tests "*VirtualThreadLoadBenchmarkTest" (Java 21 필요)
+ *   (실제 앱 대상 부하는 scripts/load/virtual-threads.js 참고)
+ */
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final int PLATFORM_THREADS = 200;
+    private static final Duration UPSTREAM_DELAY = Duration.ofMillis(300);
+    private static final Duration POOL_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration RUN = Duration.ofSeconds(10);
+    private static final int CLIENTS = Integer.parseInt(System.getenv().getOrDefault("THREADS_BENCHMARK_CLIENTS", "1000"));
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "THREADS_BENCHMARK", matches = "true")
+    void compareThroughputAndLatency() throws Exception {
+        HttpServer upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.createContext("/search", exchange -> {
+            sleep(UPSTREAM_DELAY);
+            respond(exchange, 200, "{\"items\":[]}");
+        });
+        upstream.start();
+        System.out.printf("java %s (%s), cpu %d%n", System.getProperty("java.version"),
+                System.getProperty("java.vm.name"), Runtime.getRuntime().availableProcessors());
+        try {
+            URI upstreamUri = URI.create("http://127.0.0.1:" + upstream.getAddress().getPort() + "/search");
+            for (int pool : new int[]{0, 50, 400}) {
+                Result platform = run(Executors.newFixedThreadPool(PLATFORM_THREADS), upstreamUri, pool);
+                Result virtual = run(Executors.newVirtualThreadPerTaskExecutor(), upstreamUri, pool);
+                String poolName = pool == 0 ? "제한 없음" : String.valueOf(pool);
+                System.out.printf("동시 %d, AI 지연 %dms, AI 커넥션 풀 %s%n", CLIENTS, UPSTREAM_DELAY.toMillis(), poolName);
+                System.out.println("  플랫폼(" + PLATFORM_THREADS + ") " + platform);
+                System.out.println("  가상         " + virtual);
+                if (pool == 0) assertTrue(virtual.throughput() > platform.throughput());
+            }
+        } finally {
+            upstream.stop(0);
+        }
+    }
+
+    /**
+     * CLIENTS 개의 클라이언트가 RUN 동안 쉬지 않고 요청
+     */
+    private static Result run(ExecutorService handlers, URI upstreamUri, int pool) throws Exception {
+        HttpClient upstreamClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        Semaphore connections = pool > 0 ? new Semaphore(pool) : null;
+
+        HttpServer app = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        app.setExecutor(handlers);
+        app.createContext("/api/search", exchange -> {
+            try {
+                if (connections != null && !connections.tryAcquire(POOL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                    respond(exchange, 503, "pool timeout");
+                    return;
+                }
+                try {
+                    HttpResponse<String> response = upstreamClient.send(
+                            HttpRequest.newBuilder(upstreamUri).build(), HttpResponse.BodyHandlers.ofString());
+                    respond(exchange, 200, response.body());
+                } finally {
+                    if (connections != null) connections.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                respond(exchange, 503, "interrupted");
+            }
+        });
+        app.start();
+
+        URI appUri = URI.create("http://127.0.0.1:" + app.getAddress().getPort() + "/api/search");
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger errors = new AtomicInteger();
+        long deadline = System.nanoTime() + RUN.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(appUri).build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            long end = System.nanoTime();
+                            if (end > deadline) break; // 측정 시간이 끝난 뒤 받은 응답은 제외
+                            if (response.statusCode() == 200) latencies.add(end - start);
+                            else errors.incrementAndGet();
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        } finally {
+            app.stop(0);
+            handlers.shutdownNow();
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Result(sorted.size() / (double) RUN.toSeconds(), percentile(sorted, 50), percentile(sorted, 99), errors.get());
+    }
+
+    private static double percentile(List<Long> sorted, int percent) {
+        if (sorted.isEmpty()) return 0;
+        int index = Math.min(sorted.size() - 1, (int) Math.ceil(sorted.size() * percent / 100.0) - 1);
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Result(double throughput, double p50, double p99, int errors) {
+        @Override
+        public String toString() {
+            return String.format("처리량 %.0f req/s, p50 %.0fms, p99 %.0fms, 실패 %d", throughput, p50, p99, errors);
+        }
+    }
+}
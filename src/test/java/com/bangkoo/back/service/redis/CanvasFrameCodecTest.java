@@ -0,0 +1,222 @@
+package com.bangkoo.back.service.redis;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanvasFrameCodecTest {
+
+    private final CanvasFrameCodec codec = new CanvasFrameCodec(Deflater.BEST_SPEED);
+
+    @Test
+    void smallKeyframeIsStoredUncompressed() {
+        CanvasState state = CanvasState.fromText("data:image/png;base64,AQID");
+
+        byte[] frame = codec.encode(state, null);
+
+        assertEquals(CanvasFrameCodec.KEYFRAME, CanvasFrameCodec.kind(frame));
+        assertFalse(deflated(frame));
+        assertState(state, codec.decode(List.of(frame)));
+    }
+
+    @Test
+    void largeKeyframeIsDeflatedOnlyWhenEnabled() {
+        CanvasState state = CanvasState.fromText(dataUrl(canvasJson(300)));
+
+        byte[] frame = codec.encode(state, null);
+        byte[] plain = new CanvasFrameCodec(0).encode(state, null);
+
+        assertTrue(deflated(frame));
+        assertTrue(frame.length < state.data().length / 2);
+        assertFalse(deflated(plain));
+        assertState(state, codec.decode(List.of(frame)));
+        assertState(state, codec.decode(List.of(plain)));
+    }
+
+    @Test
+    void deltaRestoresGrownShrunkAndUnchangedStates() {
+        CanvasState base = CanvasState.fromText(dataUrl(canvasJson(300)));
+        CanvasState grown = CanvasState.fromText(dataUrl(canvasJson(300).replace("{\"id\":150,", "{\"id\":150,\"rotate\":90,")));
+        CanvasState shrunk = CanvasState.fromText(dataUrl(canvasJson(300).replace("{\"id\":150,\"x\":50},", "")));
+        CanvasState appended = CanvasState.fromText(dataUrl(canvasJson(301)));
+        byte[] keyframe = codec.encode(base, null);
+
+        for (CanvasState state : List.of(grown, shrunk, appended, base)) {
+            byte[] delta = codec.encode(state, base);
+            assertEquals(CanvasFrameCodec.DELTA, CanvasFrameCodec.kind(delta));
+            assertTrue(delta.length < 64, "델타 크기 " + delta.length);
+            assertState(state, codec.decode(List.of(delta, keyframe)));
+        }
+    }
+
+    @Test
+    void deltaChainRestoresEveryLevel() {
+        List<CanvasState> states = new ArrayList<>();
+        List<byte[]> frames = new ArrayList<>();
+        CanvasState previous = null;
+        for (int i = 0; i < 10; i++) {
+            CanvasState state = CanvasState.fromText(dataUrl(canvasJson(200 + i * (i % 2 == 0 ? 1 : -1))));
+            frames.add(0, codec.encode(state, previous));
+            states.add(0, state);
+            previous = state;
+        }
+
+        for (int i = 0; i < states.size(); i++) {
+            assertState(states.get(i), codec.decode(frames.subList(i, frames.size())));
+        }
+    }
+
+    @Test
+    void keepsNonBase64TextAsIs() {
+        for (String text : List.of("{\"items\":[]}", "abc", "data:text/plain,hello", "data:image/png;base64,AQI")) {
+            CanvasState state = CanvasState.fromText(text);
+
+            assertFalse(state.base64(), text);
+            assertEquals(text, state.toText());
+            assertEquals(text, codec.decode(List.of(codec.encode(state, null))).toText());
+        }
+    }
+
+    @Test
+    void splitsDataUrlPrefixFromImageBytes() {
+        CanvasState state = CanvasState.fromText("data:image/png;base64,AQID");
+
+        assertEquals("data:image/png;base64,", state.prefix());
+        assertArrayEquals(new byte[]{1, 2, 3}, state.data());
+        assertEquals("image/png", state.mediaType());
+
+        CanvasState bare = CanvasState.fromText("QUJD");
+        assertTrue(bare.base64());
+        assertEquals("", bare.prefix());
+        assertEquals("application/octet-stream", bare.mediaType());
+        assertEquals("QUJD", bare.toText());
+
+        CanvasState binary = CanvasState.fromBinary(new byte[]{1, 2, 3}, "image/png");
+        assertEquals("data:image/png;base64,AQID", binary.toText());
+        assertState(binary, codec.decode(List.of(codec.encode(binary, null))));
+    }
+
+    @Test
+    void rejectsCorruptedOrTruncatedFrames() {
+        CanvasState base = CanvasState.fromText(dataUrl(canvasJson(300)));
+        CanvasState next = CanvasState.fromText(dataUrl(canvasJson(301)));
+        byte[] keyframe = codec.encode(base, null);
+        byte[] delta = codec.encode(next, base);
+        byte[] plain = new CanvasFrameCodec(0).encode(base, null);
+
+        byte[] corrupted = keyframe.clone();
+        for (int i = keyframe.length / 2; i < keyframe.length / 2 + 16; i++) corrupted[i] ^= 0x5A;
+
+        assertThrows(IllegalStateException.class, () -> codec.decode(List.of(corrupted)));
+        assertThrows(IllegalStateException.class, () -> codec.decode(List.of(Arrays.copyOf(keyframe, keyframe.length - 8))));
+        assertThrows(IllegalStateException.class, () -> codec.decode(List.of(Arrays.copyOf(plain, plain.length - 8))));
+        assertThrows(IllegalStateException.class, () -> codec.decode(List.of(Arrays.copyOf(keyframe, 3))));
+        assertThrows(IllegalStateException.class, () -> codec.decode(List.of(new byte[0])));
+        assertThrows(IllegalStateException.class, () -> codec.decode(List.of(Arrays.copyOf(delta, delta.length - 1), keyframe)));
+        assertThrows(IllegalStateException.class, () -> codec.decode(List.of(keyframe, delta)));
+
+        byte[] unknownKind = keyframe.clone();
+        unknownKind[0] = 'X';
+        assertThrows(IllegalStateException.class, () -> codec.decode(List.of(delta, unknownKind)));
+    }
+
+    /**
+     * PNG data URL 로 저장하던 세션과 프레임 저장 크기 비교 (800x600, 가구 배치 20단계)
+     * - PNG 는 조금만 바뀌어도 압축 결과 전체가 달라져 델타 대신 키프레임이 되고, 절감은 base64 제거분(약 25%)
+     * - 프론트가 실제로 보내는 PNG 상태에서는 델타 / 압축으로 얻는 절감이 이 정도뿐
+     *   → 세션당 저장량이 크게 줄어드는 건 maxDepth(30단계) 상한과 idleTtl 만료 덕분 (예전엔 무제한, 만료 없음)
+     */
+    @Test
+    void pngSessionIsSmallerThanDataUrls() throws IOException {
+        long dataUrlBytes = 0;
+        long frameBytes = 0;
+        CanvasState previous = null;
+        List<byte[]> frames = new ArrayList<>();
+        for (String dataUrl : pngSession(20)) {
+            CanvasState state = CanvasState.fromText(dataUrl);
+            byte[] frame = codec.encode(state, previous);
+            frames.add(0, frame);
+            dataUrlBytes += dataUrl.getBytes(StandardCharsets.UTF_8).length;
+            frameBytes += frame.length;
+            previous = state;
+        }
+
+        System.out.printf("PNG 세션 20단계 - data URL: %,d bytes, 프레임: %,d bytes (%.1f%%)%n",
+                dataUrlBytes, frameBytes, frameBytes * 100.0 / dataUrlBytes);
+        assertTrue(frameBytes * 100 <= dataUrlBytes * 76);
+        assertArrayEquals(previous.data(), codec.decode(frames).data());
+    }
+
+    private static void assertState(CanvasState expected, CanvasState actual) {
+        assertEquals(expected.prefix(), actual.prefix());
+        assertEquals(expected.base64(), actual.base64());
+        assertArrayEquals(expected.data(), actual.data());
+        assertEquals(expected.toText(), actual.toText());
+    }
+
+    private static boolean deflated(byte[] frame) {
+        return (frame[1] & 2) != 0;
+    }
+
+    /**
+     * 프론트 캔버스 JSON 과 비슷한 문자열 (가구 count 개)
+     */
+    private static String canvasJson(int count) {
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < count; i++) {
+            json.append("{\"id\":").append(i).append(",\"x\":").append(i * 7 % 100).append("},");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String dataUrl(String json) {
+        return "data:application/json;base64," + Base64.getEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 방 사진(노이즈 배경) 위에 가구 3개를 한 단계씩 옮긴 PNG data URL 목록
+     */
+    private static List<String> pngSession(int steps) throws IOException {
+        Random random = new Random(42);
+        BufferedImage room = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < room.getHeight(); y++) {
+            for (int x = 0; x < room.getWidth(); x++) {
+                int shade = 170 + y / 12 + random.nextInt(24);
+                room.setRGB(x, y, new Color(shade, shade - 20, shade - 40).getRGB());
+            }
+        }
+
+        List<String> session = new ArrayList<>(steps);
+        for (int step = 0; step < steps; step++) {
+            BufferedImage canvas = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = canvas.createGraphics();
+            g.drawImage(room, 0, 0, null);
+            g.setColor(new Color(90, 60, 40));
+            g.fillRect(100 + step * 5, 350, 220, 120);
+            g.setColor(new Color(40, 70, 120));
+            g.fillOval(500, 300 - step * 3, 90, 90);
+            g.setColor(new Color(200, 200, 200));
+            g.fillRect(600 - step * 4, 420, 150, 60);
+            g.dispose();
+
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(canvas, "png", png);
+            session.add("data:image/png;base64," + Base64.getEncoder().encodeToString(png.toByteArray()));
+        }
+        return session;
+    }
+}
@@ -0,0 +1,259 @@
+package com.bangkoo.back.service.redis;
+
+import com.bangkoo.back.config.properites.CanvasHistoryProperties;
+import com.bangkoo.back.config.properites.RedisClientProperties;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 한 세션에 여러 스레드(탭·서버)가 동시에 push/undo/redo 해도 히스토리가 깨지지 않는지 확인
+ * - 로컬 Redis 필요 (REDIS_HOST / REDIS_PORT, 기본 localhost:6379), 없으면 건너뜀
+ * - 지연 시간 비교: CANVAS_BENCHMARK=true ./gradlew test --tests "*RedisServiceConcurrencyTest"
+ */
+class RedisServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, byte[]> template;
+
+    private final CanvasHistoryProperties properties = new CanvasHistoryProperties();
+    private final String userId = "test-" + UUID.randomUUID();
+    private final String sessionId = "s1";
+
+    @BeforeAll
+    static void connect() {
+        String host = System.getenv().getOrDefault("REDIS_HOST", "localhost");
+        int port = Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379"));
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (connectionFactory != null) connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void requireRedis() {
+        boolean available;
+        try (var connection = connectionFactory.getConnection()) {
+            available = "PONG".equals(connection.ping());
+        } catch (Exception e) {
+            available = false;
+        }
+        assumeTrue(available, "Redis 서버가 없어 건너뜀");
+        properties.setMaxDepth(40);
+        properties.setKeyframeInterval(5);
+    }
+
+    @Test
+    void undoRestoresEveryPushedStateInOrder() {
+        RedisService service = service();
+        List<String> states = states(20);
+        states.forEach(state -> service.pushState(userId, sessionId, state));
+
+        assertEquals(states.get(19), service.getCurrentState(userId, sessionId));
+        for (int i = 18; i >= 0; i--) {
+            assertEquals(states.get(i), service.undo(userId, sessionId));
+        }
+        assertNull(service.undo(userId, sessionId));
+        for (int i = 1; i < 20; i++) {
+            assertEquals(states.get(i), service.redo(userId, sessionId));
+        }
+        service.clearSession(userId, sessionId);
+    }
+
+    @Test
+    void currentSnapshotIsNotModifiedUntilStateChanges() {
+        RedisService service = service();
+        String token = service.pushState(userId, sessionId, CanvasState.fromBinary(new byte[]{1, 2, 3}, "image/png"));
+
+        assertTrue(service.currentSnapshot(userId, sessionId, token).isNotModified());
+        assertEquals("data:image/png;base64,AQID", service.getCurrentState(userId, sessionId));
+
+        service.pushState(userId, sessionId, CanvasState.fromBinary(new byte[]{1, 2, 4}, "image/png"));
+        CanvasSnapshot changed = service.currentSnapshot(userId, sessionId, token);
+        assertFalse(changed.isNotModified());
+        assertArrayEquals(new byte[]{1, 2, 4}, changed.state().data());
+
+        CanvasSnapshot undone = service.undoSnapshot(userId, sessionId);
+        assertArrayEquals(new byte[]{1, 2, 3}, undone.state().data());
+        assertNotEquals(token, undone.token()); // undo 도 새 토큰 발급 (이전 ETag 로 304 가 나오지 않도록)
+        service.clearSession(userId, sessionId);
+    }
+
+    @Test
+    void concurrentUndosEachMoveExactlyOneState() throws Exception {
+        RedisService service = service();
+        List<String> states = states(THREADS + 2);
+        states.forEach(state -> service.pushState(userId, sessionId, state));
+
+        List<String> results = runConcurrently(() -> service.undo(userId, sessionId));
+
+        // 더블 클릭처럼 동시에 들어와도 각 undo 는 서로 다른 상태를 하나씩 되돌림
+        assertEquals(THREADS, new HashSet<>(results).size());
+        assertEquals(states.get(1), service.getCurrentState(userId, sessionId));
+        assertEquals(states.get(2), service.redo(userId, sessionId));
+        service.clearSession(userId, sessionId);
+    }
+
+    @Test
+    void mixedOperationsFromManyInstancesKeepHistoryDecodable() throws Exception {
+        // 서버마다 델타 기준 캐시가 따로 있는 상황 - 오래된 기준의 델타는 스크립트가 거절해야 함
+        List<RedisService> instances = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) instances.add(service());
+        List<String> states = states(THREADS * 25);
+        Set<String> pushed = new HashSet<>(states);
+
+        runConcurrently(new Callable<>() {
+            private final AtomicInteger next = new AtomicInteger();
+
+            @Override
+            public String call() {
+                int worker = next.getAndIncrement();
+                RedisService service = instances.get(worker);
+                for (int i = 0; i < 25; i++) {
+                    service.pushState(userId, sessionId, states.get(worker * 25 + i));
+                    if (i % 4 == 3) service.undo(userId, sessionId);
+                    if (i % 8 == 7) service.redo(userId, sessionId);
+                }
+                return null;
+            }
+        });
+
+        RedisService reader = service();
+        String current = reader.getCurrentState(userId, sessionId);
+        assertTrue(pushed.contains(current));
+
+        Long frames = template.opsForList().size("canvas:undo:{" + userId + ":" + sessionId + "}");
+        Long kinds = template.opsForList().size("canvas:undo:kind:{" + userId + ":" + sessionId + "}");
+        assertEquals(frames, kinds);
+        assertTrue(frames <= properties.getMaxDepth());
+
+        // 남은 히스토리 전체를 되돌려도 모든 상태가 복원되어야 함
+        String state;
+        while ((state = reader.undo(userId, sessionId)) != null) {
+            assertTrue(pushed.contains(state));
+        }
+        reader.clearSession(userId, sessionId);
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "CANVAS_BENCHMARK", matches = "true")
+    void benchmarkUndoRedoRoundTrips() {
+        RedisService service = service();
+        List<String> states = states(properties.getMaxDepth());
+        states.forEach(state -> service.pushState(userId, sessionId, state));
+        String legacyUndo = "legacy:undo:" + userId;
+        String legacyRedo = "legacy:redo:" + userId;
+        states.forEach(state -> template.opsForList().leftPush(legacyUndo, state.getBytes()));
+
+        int iterations = 2000;
+        for (int i = 0; i < 200; i++) {
+            legacyUndoRedo(legacyUndo, legacyRedo);
+            service.undo(userId, sessionId);
+            service.redo(userId, sessionId);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) legacyUndoRedo(legacyUndo, legacyRedo);
+        long legacy = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            service.undo(userId, sessionId);
+            service.redo(userId, sessionId);
+        }
+        long scripted = System.nanoTime() - start;
+
+        System.out.printf("undo+redo 평균 - 기존(7회 왕복): %.1fµs, 스크립트(2회 왕복): %.1fµs%n",
+                legacy / 1000.0 / iterations, scripted / 1000.0 / iterations);
+        template.delete(List.of(legacyUndo, legacyRedo));
+        service.clearSession(userId, sessionId);
+    }
+
+    private RedisService service() {
+        return new RedisService(template, template, properties, new RedisClientProperties());
+    }
+
+    /**
+     * 변경 전 RedisService 의 undo/redo 명령 순서 (size, leftPop, leftPush, index / leftPop, leftPush, index)
+     */
+    private static void legacyUndoRedo(String undoKey, String redoKey) {
+        template.opsForList().size(undoKey);
+        byte[] popped = template.opsForList().leftPop(undoKey);
+        template.opsForList().leftPush(redoKey, popped);
+        template.opsForList().index(undoKey, 0);
+
+        popped = template.opsForList().leftPop(redoKey);
+        template.opsForList().leftPush(undoKey, popped);
+        template.opsForList().index(undoKey, 0);
+    }
+
+    /**
+     * 캔버스 JSON 을 조금씩 바꾼 data URL 상태 목록 (델타가 만들어지는 형태)
+     */
+    private static List<String> states(int count) {
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < 500; i++) {
+            json.append("{\"id\":").append(i).append(",\"x\":").append(i * 7 % 1000).append("},");
+        }
+        List<String> states = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            json.append("{\"id\":").append(1000 + i).append(",\"x\":").append(i).append("},");
+            states.add("data:application/json;base64," + Base64.getEncoder().encodeToString((json + "]}").getBytes()));
+        }
+        return states;
+    }
+
+    private static <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) results.add(future.get());
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.bangkoo.back.service.search.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+
+    private final SuggestionTrie trie = new SuggestionTrie(10, 32, 4);
+
+    SuggestionTrieTest() {
+        trie.putAll(List.of(
+                Suggestion.product("1", "3인용 소파", 5),
+                Suggestion.product("2", "소파 베드", 5),
+                Suggestion.query("소파", 100),
+                Suggestion.query("Sofa table", 3)));
+    }
+
+    @Test
+    void returnsPrefixMatchesByWeight() {
+        List<Suggestion> result = trie.search("소", 10);
+
+        assertEquals(List.of("소파", "3인용 소파", "소파 베드"), result.stream().map(Suggestion::text).toList());
+    }
+
+    @Test
+    void matchesWordStartsAndPartialHangul() {
+        assertEquals(3, trie.search("소ㅍ", 10).size());
+        assertEquals("소파 베드", trie.search("베", 10).get(0).text());
+        assertEquals("Sofa table", trie.search("SOF", 10).get(0).text());
+    }
+
+    @Test
+    void matchesSyllableWhoseFinalConsonantIsStillBeingTyped() {
+        // '소파' 를 치는 중간 상태 '솦' - 받침 ㅍ 이 다음 글자 초성이 될 자리
+        assertEquals(List.of("소파", "3인용 소파", "소파 베드"), trie.search("솦", 10).stream().map(Suggestion::text).toList());
+        assertEquals("3인용 소파", trie.search("3인용 솦", 10).get(0).text());
+        assertEquals("소파 베드", trie.search("소파 벧", 10).get(0).text());
+    }
+
+    @Test
+    void splitsCompoundFinalConsonant() {
+        trie.putAll(List.of(Suggestion.query("달기 쿠션", 10), Suggestion.query("닭 인형", 20)));
+
+        // '닭' 은 '닭 인형' 그대로와, 겹받침 ㄺ 을 ㄹ + ㄱ 으로 나눈 '달기 쿠션' 둘 다
+        assertEquals(List.of("닭 인형", "달기 쿠션"), trie.search("닭", 10).stream().map(Suggestion::text).toList());
+        assertEquals(List.of("닭 인형"), trie.search("닭 인", 10).stream().map(Suggestion::text).toList());
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletes() {
+        trie.put(Suggestion.product("1", "원형 테이블", 5));
+        trie.remove("p:2");
+
+        assertTrue(trie.search("3인", 10).isEmpty());
+        assertTrue(trie.search("베", 10).isEmpty());
+        assertEquals("원형 테이블", trie.search("테", 10).get(0).text());
+        assertEquals(List.of("소파"), trie.search("소파", 10).stream().map(Suggestion::text).toList());
+    }
+
+    @Test
+    void respectsLimit() {
+        assertEquals(1, trie.search("소", 1).size());
+        assertTrue(trie.search("", 10).isEmpty());
+        assertTrue(trie.search("없는말", 10).isEmpty());
+    }
+}
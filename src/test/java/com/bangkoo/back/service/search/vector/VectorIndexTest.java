@@ -0,0 +1,92 @@
+package com.bangkoo.back.service.search.vector;
+
+import com.bangkoo.back.utils.VectorMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorIndexTest {
+
+    private static final int SIZE = 2000;
+    private static final int DIM = 32;
+
+    private final List<String> ids = new ArrayList<>();
+    private final List<float[]> vectors = new ArrayList<>();
+    private final Random random = new Random(7);
+
+    VectorIndexTest() {
+        for (int i = 0; i < SIZE; i++) {
+            ids.add("p" + i);
+            vectors.add(randomUnitVector());
+        }
+    }
+
+    @Test
+    void exactIndexReturnsTopKInDescendingOrder() {
+        ExactVectorIndex index = new ExactVectorIndex(ids, vectors);
+        float[] query = randomUnitVector();
+
+        List<VectorMatch> result = index.search(query, 10);
+
+        assertEquals(10, result.size());
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue(result.get(i - 1).score() >= result.get(i).score());
+        }
+
+        float best = Float.NEGATIVE_INFINITY;
+        for (float[] v : vectors) {
+            best = Math.max(best, VectorMath.dot(query, v));
+        }
+        assertEquals(best, result.get(0).score(), 1e-5);
+    }
+
+    @Test
+    void exactIndexFindsItself() {
+        ExactVectorIndex index = new ExactVectorIndex(ids, vectors);
+
+        List<VectorMatch> result = index.search(vectors.get(42), 1);
+
+        assertEquals("p42", result.get(0).id());
+        assertArrayEquals(vectors.get(42), index.vectorOf("p42"));
+    }
+
+    @Test
+    void hnswIndexHasHighRecall() {
+        ExactVectorIndex exact = new ExactVectorIndex(ids, vectors);
+        HnswVectorIndex hnsw = new HnswVectorIndex(ids, vectors, 16, 200, 64);
+
+        int hits = 0;
+        int queries = 50;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomUnitVector();
+            Set<String> expected = new HashSet<>();
+            exact.search(query, 10).forEach(m -> expected.add(m.id()));
+            for (VectorMatch match : hnsw.search(query, 10)) {
+                if (expected.contains(match.id())) hits++;
+            }
+        }
+
+        assertTrue(hits / (queries * 10.0) > 0.8, "recall too low: " + hits);
+    }
+
+    @Test
+    void emptyIndexReturnsNothing() {
+        assertTrue(new ExactVectorIndex(List.of(), List.of()).search(new float[DIM], 5).isEmpty());
+        assertTrue(new HnswVectorIndex(List.of(), List.of(), 16, 200, 64).search(new float[DIM], 5).isEmpty());
+    }
+
+    private float[] randomUnitVector() {
+        float[] v = new float[DIM];
+        for (int i = 0; i < DIM; i++) {
+            v[i] = (float) random.nextGaussian();
+        }
+        VectorMath.normalizeInPlace(v);
+        return v;
+    }
+}